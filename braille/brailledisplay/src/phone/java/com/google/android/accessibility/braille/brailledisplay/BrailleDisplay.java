@@ -29,6 +29,7 @@ import com.google.android.accessibility.braille.interfaces.BrailleDisplayForTalk
 import com.google.android.accessibility.braille.interfaces.BrailleImeForBrailleDisplay;
 import com.google.android.accessibility.braille.interfaces.TalkBackForBrailleCommon;
 import com.google.android.accessibility.braille.interfaces.TalkBackForBrailleDisplay;
+import com.google.android.accessibility.utils.Logger;
 
 /** Entry point between TalkBack and the braille display feature. */
 public class BrailleDisplay implements BrailleDisplayForTalkBack, BrailleDisplayForBrailleIme {
@@ -81,6 +82,14 @@ public class BrailleDisplay implements BrailleDisplayForTalkBack, BrailleDisplay
     isRunning = false;
   }
 
+  /** Dumps the state of the braille display feature. */
+  public void dump(Logger dumpLogger) {
+    controller.dump(dumpLogger);
+    if (brailleDisplayManager != null) {
+      brailleDisplayManager.dump(dumpLogger);
+    }
+  }
+
   /** Notifies receiving accessibility event. */
   @Override
   public void onAccessibilityEvent(AccessibilityEvent accessibilityEvent) {
@@ -31,6 +31,7 @@ import com.google.android.accessibility.braille.translate.TranslationResult;
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.ImmutableIntArray;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -117,8 +118,8 @@ abstract class AssembledResult {
     private final StringBuilder textOnOverlay = new StringBuilder();
     private final BrailleWord brailleWord = new BrailleWord();
     private final List<Range<Integer>> textFieldTextClickableByteRange = new ArrayList<>();
-    private final List<Integer> textToBraillePositions = new ArrayList<>();
-    private final List<Integer> brailleToTextPositions = new ArrayList<>();
+    private final ImmutableIntArray.Builder textToBraillePositions = ImmutableIntArray.builder();
+    private final ImmutableIntArray.Builder brailleToTextPositions = ImmutableIntArray.builder();
     private final ResultForDisplay resultForDisplay;
     private final BrailleTranslator translator;
     private final String textFieldText;
@@ -126,8 +127,8 @@ abstract class AssembledResult {
     private final int holdingsPosition;
     private final BrailleWord holdingsWord;
     private final BrailleWord textFieldWord;
-    private final ImmutableList<Integer> textFieldTextToBraillePositions;
-    private final ImmutableList<Integer> textFieldTextBrailleToTextPositions;
+    private final ImmutableIntArray textFieldTextToBraillePositions;
+    private final ImmutableIntArray textFieldTextBrailleToTextPositions;
     private final boolean showPassword;
     private Range<Integer> holdingsClickableByteRange;
     private Range<Integer> actionClickableByteRange;
@@ -186,13 +187,13 @@ abstract class AssembledResult {
           textToBraillePositions,
           /* base= */ 0,
           /* startIndexToAppend= */ 0,
-          /* endIndexToAppend= */ result.textToBraillePositions().size(),
+          /* endIndexToAppend= */ result.textToBraillePositions().length(),
           /* positionsToCopy= */ result.textToBraillePositions());
       appendPositionsToList(
           brailleToTextPositions,
           /* base= */ 0,
           /* startIndexToAppend= */ 0,
-          /* endIndexToAppend= */ result.brailleToTextPositions().size(),
+          /* endIndexToAppend= */ result.brailleToTextPositions().length(),
           /* positionsToCopy= */ result.brailleToTextPositions());
       // user input is put after hint.
       textDisplacement += hint.length();
@@ -221,13 +222,13 @@ abstract class AssembledResult {
           textToBraillePositions,
           /* base= */ brailleWord.size(),
           /* startIndexToAppend= */ 0,
-          /* endIndexToAppend= */ result.textToBraillePositions().size(),
+          /* endIndexToAppend= */ result.textToBraillePositions().length(),
           /* positionsToCopy= */ result.textToBraillePositions());
       appendPositionsToList(
           brailleToTextPositions,
           /* base= */ textOnOverlay.length(),
           /* startIndexToAppend= */ 0,
-          /* endIndexToAppend= */ result.brailleToTextPositions().size(),
+          /* endIndexToAppend= */ result.brailleToTextPositions().length(),
           /* positionsToCopy= */ result.brailleToTextPositions());
       textOnOverlay.append(action);
       actionClickableByteRange =
@@ -259,22 +260,19 @@ abstract class AssembledResult {
       } catch (IOException e) {
         BrailleDisplayLog.w(TAG, "Build result failed: ", e);
       }
+      ImmutableIntArray textToBraille = textToBraillePositions.build();
       int lowerIndex = textSelectionRange.getLower() + textDisplacement;
       int lowerByteIndex =
-          lowerIndex == textOnOverlay.length()
-              ? brailleWord.size()
-              : textToBraillePositions.get(lowerIndex);
+          lowerIndex == textOnOverlay.length() ? brailleWord.size() : textToBraille.get(lowerIndex);
       int upperIndex = textSelectionRange.getUpper() + textDisplacement;
       int upperByteIndex =
-          upperIndex == textOnOverlay.length()
-              ? brailleWord.size()
-              : textToBraillePositions.get(upperIndex);
+          upperIndex == textOnOverlay.length() ? brailleWord.size() : textToBraille.get(upperIndex);
       TranslationResult allTranslationResult =
           TranslationResult.builder()
               .setText(textOnOverlay.toString())
               .setCells(brailleWord)
-              .setTextToBraillePositions(textToBraillePositions)
-              .setBrailleToTextPositions(brailleToTextPositions)
+              .setTextToBraillePositions(textToBraille)
+              .setBrailleToTextPositions(brailleToTextPositions.build())
               .setCursorBytePosition(lowerByteIndex)
               .build();
       return new AutoValue_AssembledResult(
@@ -439,11 +437,11 @@ abstract class AssembledResult {
     }
 
     private static void appendPositionsToList(
-        List<Integer> list,
+        ImmutableIntArray.Builder list,
         int base,
         int startIndexToAppend,
         int endIndexToAppend,
-        List<Integer> positionsToCopy) {
+        ImmutableIntArray positionsToCopy) {
       for (int i = startIndexToAppend; i < endIndexToAppend; i++) {
         list.add(base + positionsToCopy.get(i));
       }
@@ -62,6 +62,7 @@ import com.google.android.accessibility.braille.interfaces.TalkBackForBrailleDis
 import com.google.android.accessibility.braille.interfaces.TalkBackForBrailleDisplay.CustomLabelAction;
 import com.google.android.accessibility.utils.AccessibilityNodeInfoUtils;
 import com.google.android.accessibility.utils.FocusFinder;
+import com.google.android.accessibility.utils.Logger;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -135,6 +136,11 @@ public class BdController implements Controller {
   public void onConnected() {
     BrailleDisplayLog.v(TAG, "onConnected");
     BrailleDisplayAnalytics.getInstance(context).logStartToConnectToBrailleDisplay();
+    // Compile the tables while the display handshake is in progress, rather than at startup for
+    // users who never connect a display.
+    if (translatorManager != null) {
+      translatorManager.prewarm();
+    }
   }
 
   @Override
@@ -229,6 +235,13 @@ public class BdController implements Controller {
     eventManager.onReadingControlChanged(readingControlDescription.toString());
   }
 
+  /** Dumps the state of the braille display feature. */
+  public void dump(Logger dumpLogger) {
+    if (translatorManager != null) {
+      translatorManager.dump(dumpLogger);
+    }
+  }
+
   /** Returns BrailleDisplayForBrailleIme . */
   public BrailleDisplayForBrailleIme getBrailleDisplayForBrailleIme() {
     return brailleDisplayForBrailleIme;
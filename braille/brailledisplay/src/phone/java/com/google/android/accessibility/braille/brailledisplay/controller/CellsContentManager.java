@@ -317,10 +317,7 @@ public class CellsContentManager implements CellsContentConsumer {
   }
 
   private void refreshToTail() {
-    DisplayInfoWrapper displayInfoWrapper = getCurrentDisplayInfoWrapper();
-    while (displayInfoWrapper.panDown()) {
-      // Empty.
-    }
+    getCurrentDisplayInfoWrapper().panToEnd();
     refresh();
   }
 
@@ -336,9 +333,7 @@ public class CellsContentManager implements CellsContentConsumer {
     inputEventListener.displayDots(
         toDisplay,
         displayInfoTarget.displayedText(),
-        displayInfoTarget.displayedBrailleToTextPositions().stream()
-            .mapToInt(Integer::intValue)
-            .toArray());
+        displayInfoTarget.displayedBrailleToTextPositions().toArray());
     if (displayInfoTarget.blink()) {
       pulseHandler.schedulePulse();
     } else {
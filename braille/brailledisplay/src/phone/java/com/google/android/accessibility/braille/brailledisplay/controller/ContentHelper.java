@@ -19,7 +19,6 @@ package com.google.android.accessibility.braille.brailledisplay.controller;
 import static com.google.android.accessibility.braille.common.translate.EditBufferUtils.NO_CURSOR;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
-import static java.util.Arrays.stream;
 
 import android.text.SpannableString;
 import android.text.SpannableStringBuilder;
@@ -27,6 +26,7 @@ import android.text.Spanned;
 import android.text.SpannedString;
 import android.text.style.ClickableSpan;
 import android.util.Range;
+import android.util.SparseArray;
 import androidx.annotation.Nullable;
 import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
 import com.google.android.accessibility.braille.brailledisplay.BrailleDisplayLog;
@@ -36,13 +36,11 @@ import com.google.android.accessibility.braille.interfaces.BrailleCharacter;
 import com.google.android.accessibility.braille.interfaces.BrailleWord;
 import com.google.android.accessibility.braille.interfaces.SelectionRange;
 import com.google.android.accessibility.braille.translate.TranslationResult;
-import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.ImmutableIntArray;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 // TODO: Make this class more readable.
 /** Helps to generate what to show on a braille display. */
@@ -61,8 +59,17 @@ public class ContentHelper {
   private TranslationResult currentTranslationResult;
   /** Display content without overlays for cursors, focus etc. */
   private BrailleWord brailleContent = new BrailleWord();
-  /** Braille content, potentially with dots overlaid for cursors and focus. */
-  private BrailleWord overlaidBrailleContent = brailleContent;
+  /**
+   * Braille content, potentially with dots overlaid for cursors and focus. This buffer is refilled
+   * on every update rather than reallocated.
+   */
+  private final BrailleWord overlaidBrailleContent = new BrailleWord();
+
+  /**
+   * Display info of the lines of the current content that have been shown, keyed by display start,
+   * so that panning back and forth, e.g. when auto-scrolling, does not slice the content again.
+   */
+  private final SparseArray<Segment> segments = new SparseArray<>();
 
   private CharSequence originalText;
   private boolean isSplitParagraphs;
@@ -134,20 +141,16 @@ public class ContentHelper {
     }
     currentTranslationResult = translationResult;
     brailleContent = translationResult.cells();
-    overlaidBrailleContent = new BrailleWord(brailleContent);
+    overlaidBrailleContent.copyFrom(brailleContent);
     markSelection(selection.start, selection.end);
+    segments.clear();
     wrapStrategy.setContent(isSplitParagraphs, translationResult, beginningOfInput, endOfInput);
     if (newPanPosition >= 0) {
       wrapStrategy.panTo(newPanPosition, /* fix= */ false);
     } else {
       wrapStrategy.panTo(selection.end, /* fix= */ true);
     }
-    return getDisplayInfo(
-        translationResult.text(),
-        wrapStrategy.getDisplayStart(),
-        wrapStrategy.getDisplayEnd(),
-        currentTranslationResult.brailleToTextPositions(),
-        source);
+    return getSegmentDisplayInfo(wrapStrategy, source);
   }
 
   /**
@@ -156,14 +159,7 @@ public class ContentHelper {
    */
   public DisplayInfo panUp(Source source) {
     WrapStrategy wrapStrategy = wrapStrategyRetriever.getWrapStrategy();
-    return wrapStrategy.panUp()
-        ? getDisplayInfo(
-            currentTranslationResult.text(),
-            wrapStrategy.getDisplayStart(),
-            wrapStrategy.getDisplayEnd(),
-            currentTranslationResult.brailleToTextPositions(),
-            source)
-        : null;
+    return wrapStrategy.panUp() ? getSegmentDisplayInfo(wrapStrategy, source) : null;
   }
 
   /**
@@ -172,14 +168,16 @@ public class ContentHelper {
    */
   public DisplayInfo panDown(Source source) {
     WrapStrategy wrapStrategy = wrapStrategyRetriever.getWrapStrategy();
-    return wrapStrategy.panDown()
-        ? getDisplayInfo(
-            currentTranslationResult.text(),
-            wrapStrategy.getDisplayStart(),
-            wrapStrategy.getDisplayEnd(),
-            currentTranslationResult.brailleToTextPositions(),
-            source)
-        : null;
+    return wrapStrategy.panDown() ? getSegmentDisplayInfo(wrapStrategy, source) : null;
+  }
+
+  /**
+   * Moves the display starting and ending positions to the last line of the current content and
+   * returns the display info, or {@code null} if the display is already there.
+   */
+  public DisplayInfo panToEnd(Source source) {
+    WrapStrategy wrapStrategy = wrapStrategyRetriever.getWrapStrategy();
+    return wrapStrategy.panToEnd() ? getSegmentDisplayInfo(wrapStrategy, source) : null;
   }
 
   /** Retranslates the display info. This should only called when output language changes */
@@ -213,11 +211,34 @@ public class ContentHelper {
     return offsetArgument;
   }
 
+  /** Returns the display info of the line currently selected by {@code wrapStrategy}. */
+  @Nullable
+  private DisplayInfo getSegmentDisplayInfo(WrapStrategy wrapStrategy, Source source) {
+    int displayStart = wrapStrategy.getDisplayStart();
+    int displayEnd = wrapStrategy.getDisplayEnd();
+    Segment segment = segments.get(displayStart);
+    // Line breaks may move when the wrap strategy pans to a new pivot, so check the end as well.
+    if (segment != null && segment.displayEnd == displayEnd && segment.source == source) {
+      return segment.displayInfo;
+    }
+    DisplayInfo displayInfo =
+        getDisplayInfo(
+            currentTranslationResult.text(),
+            displayStart,
+            displayEnd,
+            currentTranslationResult.brailleToTextPositions(),
+            source);
+    if (displayInfo != null) {
+      segments.put(displayStart, new Segment(displayEnd, source, displayInfo));
+    }
+    return displayInfo;
+  }
+
   private DisplayInfo getDisplayInfo(
       CharSequence text,
       int displayStart,
       int displayEnd,
-      List<Integer> brailleToTextPositions,
+      ImmutableIntArray brailleToTextPositions,
       Source source) {
     if (text == null) {
       return null;
@@ -228,11 +249,11 @@ public class ContentHelper {
 
     // Compute equivalent text and mapping.
     int textLeft =
-        displayStart >= brailleToTextPositions.size()
+        displayStart >= brailleToTextPositions.length()
             ? 0
             : brailleToTextPositions.get(displayStart);
     int textRight =
-        displayEnd >= brailleToTextPositions.size()
+        displayEnd >= brailleToTextPositions.length()
             ? text.length()
             : brailleToTextPositions.get(displayEnd);
     // TODO: Prevent out of order brailleToTextPositions.
@@ -240,31 +261,26 @@ public class ContentHelper {
       textRight = textLeft;
     }
     StringBuilder newText = new StringBuilder(text.subSequence(textLeft, textRight));
-    int[] trimmedBrailleToTextPositions = new int[displayEnd - displayStart];
-    for (int i = 0; i < trimmedBrailleToTextPositions.length; i++) {
-      if (displayStart + i < brailleToTextPositions.size()) {
-        trimmedBrailleToTextPositions[i] = brailleToTextPositions.get(displayStart + i) - textLeft;
+    ImmutableIntArray.Builder trimmedBrailleToTextPositions =
+        ImmutableIntArray.builder(displayEnd - displayStart);
+    for (int i = displayStart; i < displayEnd; i++) {
+      if (i < brailleToTextPositions.length()) {
+        trimmedBrailleToTextPositions.add(brailleToTextPositions.get(i) - textLeft);
       } else {
-        trimmedBrailleToTextPositions[i] = newText.length();
+        trimmedBrailleToTextPositions.add(newText.length());
         newText.append(' ');
       }
     }
 
     // Store all data needed by refresh().
-    BrailleWord displayedBraille = brailleContent.subword(displayStart, displayEnd);
-    BrailleWord displayedOverlaidBraille;
-    if (brailleContent != overlaidBrailleContent) {
-      displayedOverlaidBraille = overlaidBrailleContent.subword(displayStart, displayEnd);
-    } else {
-      displayedOverlaidBraille = displayedBraille;
-    }
+    byte[] displayedBraille = brailleContent.toByteArray(displayStart, displayEnd);
+    byte[] displayedOverlaidBraille = overlaidBrailleContent.toByteArray(displayStart, displayEnd);
     return DisplayInfo.builder()
-        .setDisplayedBraille(ByteBuffer.wrap(displayedBraille.toByteArray()))
-        .setDisplayedOverlaidBraille(ByteBuffer.wrap(displayedOverlaidBraille.toByteArray()))
+        .setDisplayedBraille(ByteBuffer.wrap(displayedBraille))
+        .setDisplayedOverlaidBraille(ByteBuffer.wrap(displayedOverlaidBraille))
         .setDisplayedText(newText.toString())
-        .setDisplayedBrailleToTextPositions(
-            stream(trimmedBrailleToTextPositions).boxed().collect(Collectors.toList()))
-        .setBlink(!displayedBraille.equals(displayedOverlaidBraille))
+        .setDisplayedBrailleToTextPositions(trimmedBrailleToTextPositions.build())
+        .setBlink(!Arrays.equals(displayedBraille, displayedOverlaidBraille))
         .setSource(source)
         .build();
   }
@@ -405,30 +421,43 @@ public class ContentHelper {
 
   private static int displayToTextPosition(
       TranslationResult translationResult, int displayPosition) {
-    ImmutableList<Integer> posMap = translationResult.brailleToTextPositions();
+    ImmutableIntArray posMap = translationResult.brailleToTextPositions();
     // Any position past-the-end of the position map maps to the
     // corresponding past-the-end position in the braille.
     if (displayPosition < 0) {
       return NO_CURSOR;
-    } else if (displayPosition >= posMap.size()) {
-      return translationResult.textToBraillePositions().size();
+    } else if (displayPosition >= posMap.length()) {
+      return translationResult.textToBraillePositions().length();
     }
     return posMap.get(displayPosition);
   }
 
   /** Returns braille character index of a text character index. May return {@link #NO_CURSOR}. */
   private static int textToDisplayPosition(TranslationResult translationResult, int textPosition) {
-    ImmutableList<Integer> posMap = translationResult.textToBraillePositions();
+    ImmutableIntArray posMap = translationResult.textToBraillePositions();
     // Any position past-the-end of the position map maps to the
     // corresponding past-the-end position in the braille.
     if (textPosition < 0) {
       return NO_CURSOR;
-    } else if (textPosition >= posMap.size()) {
-      return translationResult.brailleToTextPositions().size();
+    } else if (textPosition >= posMap.length()) {
+      return translationResult.brailleToTextPositions().length();
     }
     return posMap.get(textPosition);
   }
 
+  /** A line of the current content, as shown on the display. */
+  private static class Segment {
+    private final int displayEnd;
+    private final Source source;
+    private final DisplayInfo displayInfo;
+
+    Segment(int displayEnd, Source source, DisplayInfo displayInfo) {
+      this.displayEnd = displayEnd;
+      this.source = source;
+      this.displayInfo = displayInfo;
+    }
+  }
+
   private static class ByDistanceComparator implements Comparator<AccessibilityNodeInfoCompat> {
     private final Spanned spanned;
     private final int start;
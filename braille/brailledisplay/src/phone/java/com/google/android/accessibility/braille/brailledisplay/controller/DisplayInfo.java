@@ -17,9 +17,8 @@
 package com.google.android.accessibility.braille.brailledisplay.controller;
 
 import com.google.auto.value.AutoValue;
-import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.ImmutableIntArray;
 import java.nio.ByteBuffer;
-import java.util.List;
 
 /** The information displayer and overlay needs. */
 @AutoValue
@@ -39,7 +38,7 @@ public abstract class DisplayInfo {
 
   public abstract CharSequence displayedText();
 
-  public abstract ImmutableList<Integer> displayedBrailleToTextPositions();
+  public abstract ImmutableIntArray displayedBrailleToTextPositions();
 
   public abstract boolean blink();
 
@@ -59,7 +58,7 @@ public abstract class DisplayInfo {
     public abstract Builder setDisplayedText(CharSequence text);
 
     public abstract Builder setDisplayedBrailleToTextPositions(
-        List<Integer> brailleToTextPositions);
+        ImmutableIntArray brailleToTextPositions);
 
     public abstract Builder setBlink(boolean isBlink);
 
@@ -98,6 +98,25 @@ public class DisplayInfoWrapper {
     }
   }
 
+  /**
+   * Pans the content to the last window and updates the {@link DisplayInfo}. Returns true if pan
+   * executed.
+   */
+  public boolean panToEnd() {
+    reachToBeginning = false;
+    if (!hasDisplayInfo()) {
+      return false;
+    }
+    DisplayInfo newDisplayInfo = contentHelper.panToEnd(displayInfo.source());
+    // Like after panning down repeatedly, a further pan down has nowhere to go.
+    reachToEnd = true;
+    if (newDisplayInfo == null) {
+      return false;
+    }
+    displayInfo = newDisplayInfo;
+    return true;
+  }
+
   /** Retranslates the content. */
   public void retranslate() {
     if (hasDisplayInfo() && displayInfo.source() == DisplayInfo.Source.DEFAULT) {
@@ -20,11 +20,16 @@ import static com.google.android.accessibility.braille.common.BrailleUserPrefere
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.os.Looper;
+import android.os.SystemClock;
+import com.google.android.accessibility.braille.brailledisplay.BrailleDisplayLog;
 import com.google.android.accessibility.braille.brailledisplay.R;
 import com.google.android.accessibility.braille.common.BrailleUserPreferences;
 import com.google.android.accessibility.braille.common.translate.BrailleLanguages.Code;
+import com.google.android.accessibility.braille.interfaces.BrailleWord;
 import com.google.android.accessibility.braille.translate.BrailleTranslator;
 import com.google.android.accessibility.braille.translate.TranslatorFactory;
+import com.google.android.accessibility.utils.Logger;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -39,6 +44,8 @@ import java.util.List;
  */
 public class TranslatorManager implements SharedPreferences.OnSharedPreferenceChangeListener {
   private static final String TAG = "TranslatorManager";
+  private static final String PREWARM_TEXT = "a";
+  private static final BrailleWord PREWARM_CELLS = new BrailleWord("1");
   private final Context context;
   private final SharedPreferences sharedPreferences;
   private volatile BrailleTranslator outputTranslator;
@@ -46,6 +53,11 @@ public class TranslatorManager implements SharedPreferences.OnSharedPreferenceCh
   private final List<OutputCodeChangedListener> outputCodeChangedListeners = new ArrayList<>();
   private final List<InputCodeChangedListener> inputCodeChangedListeners = new ArrayList<>();
 
+  // Startup timing, for the dump.
+  private final long creationDurationMs;
+  private volatile long outputReadyMs = -1;
+  private volatile long inputReadyMs = -1;
+
   /** Callback interface to be invoked when output code has changed. */
   public interface OutputCodeChangedListener {
     /**
@@ -73,8 +85,51 @@ public class TranslatorManager implements SharedPreferences.OnSharedPreferenceCh
     sharedPreferences =
         BrailleUserPreferences.getSharedPreferences(context, BRAILLE_SHARED_PREFS_FILENAME);
     sharedPreferences.registerOnSharedPreferenceChangeListener(this);
+    long startMs = SystemClock.uptimeMillis();
     updateInputTranslator();
     updateOutputTranslators();
+    creationDurationMs = SystemClock.uptimeMillis() - startMs;
+  }
+
+  /**
+   * Compiles the tables of the current translators once the main thread is idle, so that the first
+   * translation for a newly connected display does not have to wait for it.
+   *
+   * <p>The translators are backed by liblouis, which is not thread safe, so this runs on the main
+   * thread like every other translation.
+   */
+  public void prewarm() {
+    long startMs = SystemClock.uptimeMillis();
+    Looper.getMainLooper()
+        .getQueue()
+        .addIdleHandler(
+            () -> {
+              BrailleTranslator output = outputTranslator;
+              BrailleTranslator input = inputTranslator;
+              if (output == null || input == null) {
+                // Shut down before the main thread became idle.
+                return false;
+              }
+              output.translate(PREWARM_TEXT, /* cursorPosition= */ -1);
+              outputReadyMs = SystemClock.uptimeMillis() - startMs;
+              input.translateToPrint(PREWARM_CELLS);
+              inputReadyMs = SystemClock.uptimeMillis() - startMs;
+              BrailleDisplayLog.d(
+                  TAG,
+                  "Translators ready, output in "
+                      + outputReadyMs
+                      + " ms, input in "
+                      + inputReadyMs
+                      + " ms");
+              return false;
+            });
+  }
+
+  public void dump(Logger dumpLogger) {
+    dumpLogger.log("Braille translators");
+    dumpLogger.log(" creationMs=%d", creationDurationMs);
+    dumpLogger.log(" outputReadyMs=%d, inputReadyMs=%d", outputReadyMs, inputReadyMs);
+    dumpLogger.log("");
   }
 
   /**
@@ -19,7 +19,7 @@ package com.google.android.accessibility.braille.brailledisplay.controller.wrapp
 import android.text.TextUtils;
 import android.util.SparseIntArray;
 import com.google.android.accessibility.braille.translate.TranslationResult;
-import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.ImmutableIntArray;
 
 /**
  * Handles the presentation of braille content that doesn't completely fit on the braille display.
@@ -156,11 +156,11 @@ public abstract class WrapStrategy {
       return;
     }
 
-    ImmutableList<Integer> textToCell = translation.textToBraillePositions();
+    ImmutableIntArray textToCell = translation.textToBraillePositions();
     int numCells = translation.cells().size();
     for (int i = 0; i < translation.text().length(); ++i) {
       if (translation.text().charAt(i) == '\n') {
-        int cell = (i + 1 < textToCell.size()) ? textToCell.get(i + 1) : numCells;
+        int cell = (i + 1 < textToCell.length()) ? textToCell.get(i + 1) : numCells;
         splitPoints.append(cell, SPLIT_POINT);
       }
     }
@@ -347,6 +347,26 @@ public abstract class WrapStrategy {
     return true;
   }
 
+  /**
+   * Moves the display starting and ending positions to the last line of the current content.
+   *
+   * @return {@code true} if the display was panned, or {@code false} if it's at the right edge.
+   */
+  public boolean panToEnd() {
+    if (!isValid || lineBreaks.size() < 2) {
+      return false;
+    }
+
+    int lastStart = lineBreaks.keyAt(lineBreaks.size() - 2);
+    if (displayStart == lastStart) {
+      return false;
+    }
+
+    displayStart = lastStart;
+    displayEnd = lineBreaks.keyAt(lineBreaks.size() - 1);
+    return true;
+  }
+
   private int calculateDisplayEnd(int start) {
     int displayLimit = start + displayWidth;
 
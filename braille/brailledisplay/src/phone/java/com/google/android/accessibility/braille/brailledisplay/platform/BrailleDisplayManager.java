@@ -30,6 +30,7 @@ import com.google.android.accessibility.braille.brailledisplay.platform.connect.
 import com.google.android.accessibility.braille.brltty.BrailleDisplayProperties;
 import com.google.android.accessibility.braille.brltty.BrailleInputEvent;
 import com.google.android.accessibility.braille.brltty.Encoder;
+import com.google.android.accessibility.utils.Logger;
 
 /** Manages the interface to a braille display, on behalf of an AccessibilityService. */
 public class BrailleDisplayManager {
@@ -104,6 +105,12 @@ public class BrailleDisplayManager {
     return false;
   }
 
+  /** Dumps the state of the connected braille display. */
+  public void dump(Logger dumpLogger) {
+    displayer.dump(dumpLogger);
+    connectioneer.dump(dumpLogger);
+  }
+
   private boolean canSendPackets() {
     return connectedService && connectedToDisplay;
   }
@@ -204,6 +211,13 @@ public class BrailleDisplayManager {
           }
         }
 
+        @Override
+        public void onPacketArrived(byte[] buffer, int length) {
+          if (displayer != null) {
+            displayer.consumePacketFromDevice(buffer, length);
+          }
+        }
+
         @Override
         public void onRead() {
           if (canSendPackets()) {
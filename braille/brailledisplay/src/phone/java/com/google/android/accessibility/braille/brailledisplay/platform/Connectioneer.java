@@ -36,15 +36,18 @@ import com.google.android.accessibility.braille.brailledisplay.platform.connect.
 import com.google.android.accessibility.braille.brailledisplay.platform.connect.ConnectManager.Reason;
 import com.google.android.accessibility.braille.brailledisplay.platform.connect.ConnectManagerProxy;
 import com.google.android.accessibility.braille.brailledisplay.platform.connect.D2dConnection;
+import com.google.android.accessibility.braille.brailledisplay.platform.connect.bt.BtConnection;
 import com.google.android.accessibility.braille.brailledisplay.platform.connect.device.ConnectableDevice;
 import com.google.android.accessibility.braille.brailledisplay.platform.connect.usb.UsbAttachedReceiver;
 import com.google.android.accessibility.braille.brailledisplay.platform.lib.ScreenOnOffReceiver;
 import com.google.android.accessibility.braille.brailledisplay.platform.lib.SetupWizardFinishReceiver;
 import com.google.android.accessibility.braille.brltty.BrailleDisplayProperties;
+import com.google.android.accessibility.utils.Logger;
 import com.google.android.accessibility.utils.SettingsUtils;
 import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -116,6 +119,8 @@ public class Connectioneer {
   private final ConnectManagerProxy connectManagerProxy;
   private final ConnectManagerCallback connectManagerCallback;
   private BrailleDisplayProperties displayProperties;
+  // The open connection, for the dump.
+  @Nullable private volatile D2dConnection openConnection;
   private boolean controllingServiceEnabled;
   // Store if user connects to a braille display via usb during SetupWizard.
   private boolean usbConnected;
@@ -147,6 +152,20 @@ public class Connectioneer {
     figureEnablement(serviceEnabled, PersistentStorage.isConnectionEnabled(context));
   }
 
+  /** Dumps the traffic of the open connection. */
+  public void dump(Logger dumpLogger) {
+    @Nullable D2dConnection connection = openConnection;
+    dumpLogger.log("Braille display connection");
+    if (connection == null) {
+      dumpLogger.log(" not connected");
+    } else if (connection instanceof BtConnection) {
+      dumpLogger.log(" %s", ((BtConnection) connection).getTrafficStatistics());
+    } else {
+      dumpLogger.log(" no traffic statistics for %s", connection.getClass().getSimpleName());
+    }
+    dumpLogger.log("");
+  }
+
   private boolean shouldUseUsbConnection() {
     UsbManager usbManager = (UsbManager) context.getSystemService(Context.USB_SERVICE);
     return usbManager.getDeviceList().values().stream()
@@ -544,6 +563,14 @@ public class Connectioneer {
     public interface Callback {
       void onPacketArrived(byte[] buffer);
 
+      /**
+       * Receives the first {@code length} bytes of {@code buffer}, which is only valid during the
+       * call.
+       */
+      default void onPacketArrived(byte[] buffer, int length) {
+        onPacketArrived(Arrays.copyOf(buffer, length));
+      }
+
       void onRead();
     }
 
@@ -551,6 +578,10 @@ public class Connectioneer {
       notifyListeners(callback -> callback.onPacketArrived(buffer));
     }
 
+    private void notifyPacketArrived(byte[] buffer, int length) {
+      notifyListeners(callback -> callback.onPacketArrived(buffer, length));
+    }
+
     private void notifyRead() {
       notifyListeners(AspectTraffic.Callback::onRead);
     }
@@ -751,6 +782,7 @@ public class Connectioneer {
     public void onDisconnected() {
       BrailleDisplayLog.d(TAG, "onDisconnected");
       displayProperties = null;
+      openConnection = null;
       aspectConnection.notifyConnectionStatusChanged(
           ConnectStatus.DISCONNECTED, /* device= */ null);
     }
@@ -775,6 +807,7 @@ public class Connectioneer {
       // BtConnection.open()). Therefore, any code that follows the call to open() will
       // execute BEFORE any failure callback gets invoked, which is reasonable and consistent.
       connection.open(d2dConnectionCallback);
+      openConnection = connection;
 
       aspectConnection.notifyConnectionStatusChanged(
           ConnectStatus.CONNECTED, connection.getDevice());
@@ -800,6 +833,11 @@ public class Connectioneer {
           aspectTraffic.notifyPacketArrived(packet);
         }
 
+        @Override
+        public void onPacketArrived(byte[] buffer, int length) {
+          aspectTraffic.notifyPacketArrived(buffer, length);
+        }
+
         @Override
         public void onRead() {
           aspectTraffic.notifyRead();
@@ -34,6 +34,8 @@ import com.google.android.accessibility.braille.brltty.Encoder;
 import com.google.android.accessibility.braille.brltty.device.BrlttyParameterProviderFactory;
 import com.google.android.accessibility.braille.brltty.device.ParameterProvider;
 import com.google.android.accessibility.braille.common.DeviceProvider;
+import com.google.android.accessibility.utils.Logger;
+import com.google.android.libraries.accessibility.utils.concurrent.TaskScheduler;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -68,6 +70,7 @@ public class Displayer {
   private Handler mainHandler;
   private Handler bgHandler;
   private final AtomicBoolean isDisplayReady = new AtomicBoolean();
+  private final FrameFilter frameFilter = new FrameFilter();
   private final BrlttyParameterProviderFactory parameterProviderFactory;
   private BrailleDisplayProperties displayProperties;
   private ConnectableDevice device;
@@ -109,7 +112,10 @@ public class Displayer {
     this.device = device;
     if (!isReady()) {
       BrailleDisplayLog.v(TAG, "start a new thread");
-      bgThread = new HandlerThread("DisplayerBG");
+      // Runs at the default priority of the user-visible lane.
+      bgThread =
+          TaskScheduler.getInstance()
+              .newHandlerThread("DisplayerBG", TaskScheduler.LANE_USER_VISIBLE);
       bgThread.start();
       bgHandler = new Handler(bgThread.getLooper(), new BackgroundHandlerCallback());
     }
@@ -132,6 +138,17 @@ public class Displayer {
     encoder.consumePacketFromDevice(packet);
   }
 
+  /**
+   * Delivers the first {@code length} bytes of {@code buffer}, which just arrived from the remote
+   * device. The bytes are consumed before this method returns, so the caller may reuse the buffer.
+   *
+   * <p>Do not invoke on the main thread, as this directly sends a message to the {@link Encoder}.
+   */
+  public void consumePacketFromDevice(byte[] buffer, int length) {
+    Utils.assertNotMainThread();
+    encoder.consumePacketFromDevice(buffer, length);
+  }
+
   /**
    * Stops this instance.
    *
@@ -151,17 +168,30 @@ public class Displayer {
    * <p>This will get processed on a background thread.
    *
    * <p>The bytes will be encoded as a new packet in the protocol expected by the remote device, and
-   * will be forwarded to the remote device via {@link Callback#onSendPacketToDisplay(byte[])}.
+   * will be forwarded to the remote device via {@link Callback#onSendPacketToDisplay(byte[])}. The
+   * bytes are dropped if they are identical to the bytes last written, and a frame that is replaced
+   * by a newer one within the minimum frame interval is never written.
    */
   public void writeBrailleDots(byte[] brailleDotBytes) {
     if (isReady()) {
       if (bgHandler.hasMessages(MessageBg.WRITE_BRAILLE_DOTS.what())) {
         bgHandler.removeMessages(MessageBg.WRITE_BRAILLE_DOTS.what());
+        frameFilter.onFrameCoalesced();
       }
-      bgHandler.obtainMessage(MessageBg.WRITE_BRAILLE_DOTS.what(), brailleDotBytes).sendToTarget();
+      bgHandler.sendMessageAtTime(
+          bgHandler.obtainMessage(MessageBg.WRITE_BRAILLE_DOTS.what(), brailleDotBytes),
+          frameFilter.getNextFrameTimeMs(SystemClock.uptimeMillis()));
     }
   }
 
+  /** Dumps the counters of the frames written to the remote device. */
+  public void dump(Logger dumpLogger) {
+    dumpLogger.log("Braille display frames");
+    dumpLogger.log(" ready=%b", isDisplayReady());
+    frameFilter.dump(dumpLogger);
+    dumpLogger.log("");
+  }
+
   /**
    * Asks for the currently queued read command, if it exists.
    *
@@ -248,6 +278,7 @@ public class Displayer {
           BrailleDisplayLog.d(TAG, "Braille display has started.");
           return;
         }
+        displayer.frameFilter.reset();
         Optional<BrailleDisplayProperties> brailleDisplayProperties =
             displayer.encoder.start(
                 displayer.device.name(), displayer.device.useHid(), (String) message.obj);
@@ -271,6 +302,8 @@ public class Displayer {
         }
         displayer.displayProperties = null;
         displayer.encoder.stop();
+        displayer.frameFilter.reset();
+        BrailleDisplayLog.d(TAG, "Braille display stopped: " + displayer.frameFilter);
         if (!displayer.bgHandler.hasMessages(START.what())) {
           BrailleDisplayLog.v(TAG, "stop a thread");
           displayer.bgThread.quitSafely();
@@ -281,7 +314,9 @@ public class Displayer {
       @Override
       public void handle(Displayer displayer, Message message) {
         byte[] brailleDotBytes = (byte[]) message.obj;
-        displayer.encoder.writeBrailleDots(brailleDotBytes);
+        if (displayer.frameFilter.shouldWrite(brailleDotBytes, SystemClock.uptimeMillis())) {
+          displayer.encoder.writeBrailleDots(brailleDotBytes);
+        }
       }
     },
     READ_COMMAND {
@@ -315,6 +350,7 @@ public class Displayer {
       if (Utils.isMainThread()) {
         BrailleDisplayLog.v(TAG, "sendPacketToDevice invoked on main thread; ignoring");
       }
+      frameFilter.onPacketSent(packet.length);
       callback.onSendPacketToDisplay(packet);
     }
 
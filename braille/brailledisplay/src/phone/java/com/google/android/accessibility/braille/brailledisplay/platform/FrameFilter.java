@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.android.accessibility.braille.brailledisplay.platform;
+
+import com.google.android.accessibility.utils.Logger;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Decides which braille frames the {@link Displayer} writes to the remote display.
+ *
+ * <p>A frame which is byte-identical to the frame last written to the display is skipped, since
+ * re-encoding and sending it would not change the display. Frames arriving faster than the minimum
+ * frame interval are delayed, so that a burst of frames collapses into its latest frame.
+ *
+ * <p>The last written frame is forgotten whenever the display (re)starts, because the display
+ * content is unknown at that point. This class is accessed from both the main and the background
+ * thread of the {@link Displayer}, so all methods are synchronized.
+ */
+class FrameFilter {
+
+  /** Minimum time between two frames written to the display. */
+  static final long MIN_FRAME_INTERVAL_MS = 30;
+
+  private byte[] lastFrame;
+  private long lastFrameTimeMs;
+
+  private long framesSent;
+  private long framesSkipped;
+  private long framesCoalesced;
+  private long bytesSent;
+
+  /** Returns the uptime at which a frame submitted at {@code nowMs} may be written. */
+  synchronized long getNextFrameTimeMs(long nowMs) {
+    if (lastFrame == null) {
+      return nowMs;
+    }
+    return Math.max(nowMs, lastFrameTimeMs + MIN_FRAME_INTERVAL_MS);
+  }
+
+  /** Records that a pending frame was replaced by a newer one before it was written. */
+  synchronized void onFrameCoalesced() {
+    framesCoalesced++;
+  }
+
+  /**
+   * Returns whether {@code frame} should be written to the display, and if so, records it as the
+   * last written frame.
+   */
+  synchronized boolean shouldWrite(byte[] frame, long nowMs) {
+    if (Arrays.equals(frame, lastFrame)) {
+      framesSkipped++;
+      return false;
+    }
+    lastFrame = frame.clone();
+    lastFrameTimeMs = nowMs;
+    framesSent++;
+    return true;
+  }
+
+  /** Records a packet sent to the display. */
+  synchronized void onPacketSent(int length) {
+    bytesSent += length;
+  }
+
+  /** Forgets the last written frame, so that the next frame is always written. */
+  synchronized void reset() {
+    lastFrame = null;
+  }
+
+  synchronized void dump(Logger dumpLogger) {
+    dumpLogger.log(
+        " frames sent=%d, skipped=%d, coalesced=%d, bytesSent=%d",
+        framesSent, framesSkipped, framesCoalesced, bytesSent);
+  }
+
+  @Override
+  public synchronized String toString() {
+    return String.format(
+        Locale.ENGLISH,
+        "FrameFilter{framesSent=%d, framesSkipped=%d, framesCoalesced=%d, bytesSent=%d}",
+        framesSent,
+        framesSkipped,
+        framesCoalesced,
+        bytesSent);
+  }
+}
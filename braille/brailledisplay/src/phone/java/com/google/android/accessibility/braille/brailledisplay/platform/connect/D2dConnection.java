@@ -17,6 +17,7 @@
 package com.google.android.accessibility.braille.brailledisplay.platform.connect;
 
 import com.google.android.accessibility.braille.brailledisplay.platform.connect.device.ConnectableDevice;
+import java.util.Arrays;
 
 /** Interface that allows two remote devices to send packets back and forth. */
 public interface D2dConnection {
@@ -33,6 +34,19 @@ public interface D2dConnection {
      */
     void onPacketArrived(byte[] packet);
 
+    /**
+     * Invoked when {@code length} bytes are received from the other device, at the start of {@code
+     * buffer}.
+     *
+     * <p>This method runs on a background thread. The buffer is reused for the next packet once
+     * this method returns, so implementations must copy any bytes they keep. This is cheaper than
+     * {@link #onPacketArrived(byte[])} for chatty devices, because no array is allocated per
+     * packet.
+     */
+    default void onPacketArrived(byte[] buffer, int length) {
+      onPacketArrived(Arrays.copyOf(buffer, length));
+    }
+
     /** Invoked when should read commands. */
     void onRead();
 
@@ -22,10 +22,13 @@ import com.google.android.accessibility.braille.brailledisplay.BrailleDisplayLog
 import com.google.android.accessibility.braille.brailledisplay.platform.connect.D2dConnection;
 import com.google.android.accessibility.braille.brailledisplay.platform.connect.device.ConnectableDevice;
 import com.google.android.accessibility.braille.brailledisplay.platform.lib.Utils;
+import com.google.android.libraries.accessibility.utils.concurrent.TaskScheduler;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A bluetooth connection traffic handler.
@@ -54,8 +57,22 @@ public class BtConnection implements D2dConnection {
   private final InputStream inputStream;
   private final OutputStream outputStream;
 
+  /** Main thread handler, shared by all connections for reporting failures. */
+  private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+  // Incoming packets are read into this buffer and consumed before the next read, so a single
+  // buffer is reused for the whole connection. While the consumer is busy, the connection does not
+  // read, which leaves the backpressure to the flow control of the socket.
   private final byte[] readBuffer = new byte[16384];
-  private boolean readThreadAlive;
+  private volatile boolean readThreadAlive;
+
+  // Traffic counters, written by the read thread and the client's sending thread.
+  private final AtomicLong packetsReceived = new AtomicLong();
+  private final AtomicLong bytesReceived = new AtomicLong();
+  private final AtomicLong consumeTimeNanos = new AtomicLong();
+  private final AtomicLong maxConsumeTimeNanos = new AtomicLong();
+  private final AtomicLong packetsSent = new AtomicLong();
+  private final AtomicLong bytesSent = new AtomicLong();
 
   private Callback callback;
 
@@ -81,7 +98,10 @@ public class BtConnection implements D2dConnection {
     Utils.assertMainThread();
     this.callback = callback;
     readThreadAlive = true;
-    new ReadThread().start();
+    // Runs at the default priority of the user-visible lane.
+    TaskScheduler.getInstance()
+        .newThread("BtConnectionRead", TaskScheduler.LANE_USER_VISIBLE, new ReadLoop())
+        .start();
   }
 
   // Outgoing traffic
@@ -94,6 +114,8 @@ public class BtConnection implements D2dConnection {
     try {
       outputStream.write(packet);
       outputStream.flush();
+      packetsSent.incrementAndGet();
+      bytesSent.addAndGet(packet.length);
     } catch (IOException e) {
       postExceptionToMain(e);
     }
@@ -101,11 +123,28 @@ public class BtConnection implements D2dConnection {
 
   @Override
   public void shutdown() {
-    BrailleDisplayLog.d(TAG, "shutdown");
+    BrailleDisplayLog.d(TAG, "shutdown " + getTrafficStatistics());
     isShutdown = true;
     readThreadAlive = false;
   }
 
+  /**
+   * Returns the packet and byte counts of both directions, and how long the client took to consume
+   * incoming packets.
+   */
+  public String getTrafficStatistics() {
+    long received = packetsReceived.get();
+    return String.format(
+        Locale.ENGLISH,
+        "received=%d packets/%d bytes, consume avg=%dus max=%dus, sent=%d packets/%d bytes",
+        received,
+        bytesReceived.get(),
+        (received == 0) ? 0 : TimeUnit.NANOSECONDS.toMicros(consumeTimeNanos.get() / received),
+        TimeUnit.NANOSECONDS.toMicros(maxConsumeTimeNanos.get()),
+        packetsSent.get(),
+        bytesSent.get());
+  }
+
   /** Gets the device associated with this connection. */
   @Override
   public ConnectableDevice getDevice() {
@@ -113,25 +152,32 @@ public class BtConnection implements D2dConnection {
   }
 
   // Incoming traffic
-  private class ReadThread extends Thread {
+  private class ReadLoop implements Runnable {
     @Override
     public void run() {
       try {
         while (readThreadAlive) {
           int bytesReadCount = inputStream.read(readBuffer, 0, readBuffer.length);
-          String line = String.format(Locale.ENGLISH, "<- (%d bytes)", bytesReadCount);
+          if (bytesReadCount < 0) {
+            throw new IOException("End of stream");
+          }
           if (BrailleDisplayLog.DEBUG) {
-            line = line + ". " + Utils.bytesToHexString(readBuffer, bytesReadCount);
+            BrailleDisplayLog.v(
+                TAG,
+                String.format(Locale.ENGLISH, "<- (%d bytes). ", bytesReadCount)
+                    + Utils.bytesToHexString(readBuffer, bytesReadCount));
           }
-          BrailleDisplayLog.v(TAG, line);
-
-          // It is important to pass a copy, instead of the readBuffer itself, because
-          // downstream clients might defer their consumption of the byte array, and it's better
-          // to not turn over our instance field to them.
-          byte[] bytes = new byte[bytesReadCount];
-          System.arraycopy(readBuffer, 0, bytes, 0, bytesReadCount);
-          callback.onPacketArrived(bytes);
+
+          // The callback consumes or copies the bytes before returning, so that the buffer can be
+          // reused for the next read without allocating.
+          long startNanos = System.nanoTime();
+          callback.onPacketArrived(readBuffer, bytesReadCount);
           callback.onRead();
+          long elapsedNanos = System.nanoTime() - startNanos;
+          packetsReceived.incrementAndGet();
+          bytesReceived.addAndGet(bytesReadCount);
+          consumeTimeNanos.addAndGet(elapsedNanos);
+          maxConsumeTimeNanos.accumulateAndGet(elapsedNanos, Math::max);
         }
       } catch (IOException ioe) {
         readThreadAlive = false;
@@ -141,18 +187,17 @@ public class BtConnection implements D2dConnection {
   }
 
   private void postExceptionToMain(Exception exception) {
-    new Handler(Looper.getMainLooper())
-        .post(
-            () -> {
-              BrailleDisplayLog.e(TAG, exception.getMessage());
-              if (isShutdown || isFailed) {
-                BrailleDisplayLog.e(TAG, "ignore failure because already shutdown or failed");
-              } else {
-                isFailed = true;
-                shutdown();
-                BrailleDisplayLog.e(TAG, "invoke onFatalError");
-                callback.onFatalError(exception);
-              }
-            });
+    mainHandler.post(
+        () -> {
+          BrailleDisplayLog.e(TAG, exception.getMessage());
+          if (isShutdown || isFailed) {
+            BrailleDisplayLog.e(TAG, "ignore failure because already shutdown or failed");
+          } else {
+            isFailed = true;
+            shutdown();
+            BrailleDisplayLog.e(TAG, "invoke onFatalError");
+            callback.onFatalError(exception);
+          }
+        });
   }
 }
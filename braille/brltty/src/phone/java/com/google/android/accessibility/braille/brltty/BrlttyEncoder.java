@@ -115,8 +115,13 @@ public class BrlttyEncoder implements Encoder {
 
   @Override
   public void consumePacketFromDevice(byte[] packet) {
+    consumePacketFromDevice(packet, packet.length);
+  }
+
+  @Override
+  public void consumePacketFromDevice(byte[] buffer, int length) {
     try {
-      addBytesFromDeviceNative(packet, packet.length);
+      addBytesFromDeviceNative(buffer, length);
     } catch (IOException e) {
       // Do nothing.
     }
@@ -136,10 +141,8 @@ public class BrlttyEncoder implements Encoder {
     if (dataFileState != FileState.FILES_NOT_EXTRACTED) {
       return;
     }
-    // TODO: When the zip file is larger than a few kilobytes, detect if
-    // the data was already extracted and don't do this every time the
-    // service starts.
-    if (TranslateUtils.extractTables(context.getResources(), R.raw.keytables, tablesDir)) {
+    if (TranslateUtils.extractTablesIfNeeded(
+        context.getResources(), R.raw.keytables, tablesDir)) {
       dataFileState = FileState.FILES_EXTRACTED;
     } else {
       dataFileState = FileState.FILES_ERROR;
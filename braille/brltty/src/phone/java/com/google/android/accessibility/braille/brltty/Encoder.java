@@ -17,6 +17,7 @@
 package com.google.android.accessibility.braille.brltty;
 
 import android.content.Context;
+import java.util.Arrays;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -51,6 +52,14 @@ public interface Encoder {
   /** Delivers a packet from the remote device for consumption. */
   void consumePacketFromDevice(byte[] packet);
 
+  /**
+   * Delivers the first {@code length} bytes of {@code buffer} from the remote device for
+   * consumption. The bytes must be consumed, or copied, before this method returns.
+   */
+  default void consumePacketFromDevice(byte[] buffer, int length) {
+    consumePacketFromDevice(Arrays.copyOf(buffer, length));
+  }
+
   /** Delivers an unencoded list of braille dots for encoding and eventual cross-device sending. */
   void writeBrailleDots(byte[] brailleDotBytes);
 
@@ -156,6 +156,18 @@ public class BrailleWord {
     list.clear();
   }
 
+  /**
+   * Replaces the contents of the word with the contents of {@code brailleWord}. The storage of the
+   * word is reused, so a word can serve as a buffer which is refilled on every update.
+   */
+  public void copyFrom(BrailleWord brailleWord) {
+    if (brailleWord == this) {
+      return;
+    }
+    list.clear();
+    list.addAll(brailleWord.list);
+  }
+
   /**
    * Returns an array of bytes representing this list, where each byte value comes from {@link
    * BrailleCharacter#toByte()}.
@@ -169,6 +181,20 @@ public class BrailleWord {
     return array;
   }
 
+  /**
+   * Returns the bytes of the range [start, end) of this word, which is the same as {@code
+   * subword(start, end).toByteArray()} without creating the subword, or throws {@link
+   * IndexOutOfBoundsException} if the passed-in range is out of bounds.
+   */
+  public byte[] toByteArray(int start, int end) {
+    List<BrailleCharacter> range = list.subList(start, end);
+    byte[] array = new byte[range.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = range.get(i).toByte();
+    }
+    return array;
+  }
+
   /**
    * Returns a String representation of a list of {@link BrailleCharacter}.
    *
@@ -22,10 +22,7 @@ import com.google.android.accessibility.braille.interfaces.BrailleCharacter;
 import com.google.android.accessibility.braille.interfaces.BrailleWord;
 import com.google.android.apps.common.proguard.UsedByNative;
 import com.google.auto.value.AutoValue;
-import com.google.common.collect.ImmutableList;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import com.google.common.primitives.ImmutableIntArray;
 
 /**
  * The result of translating text to braille, including character to cell mappings in both
@@ -67,12 +64,12 @@ public abstract class TranslationResult {
    * The mapping of each character of print to its position in braille. an(1-1345) is [0, 1]. a is
    * translated to 1, which is at the position 0 of all braille.
    */
-  public abstract ImmutableList<Integer> textToBraillePositions();
+  public abstract ImmutableIntArray textToBraillePositions();
   /**
    * The mapping of each braille character to its position in print. an(1-1345) is [0, 1]. 1 is is
    * the translation of a, which is at the position 0 of "an".
    */
-  public abstract ImmutableList<Integer> brailleToTextPositions();
+  public abstract ImmutableIntArray brailleToTextPositions();
 
   /** The text cursor position in braille. */
   public abstract Integer cursorBytePosition();
@@ -92,10 +89,22 @@ public abstract class TranslationResult {
     public abstract Builder setCells(BrailleWord cells);
 
     /** Maps a position in the original text to the corresponding position in the braille cells. */
-    public abstract Builder setTextToBraillePositions(List<Integer> textToBraillePositions);
+    public abstract Builder setTextToBraillePositions(ImmutableIntArray textToBraillePositions);
 
     /** Maps a position in the braille cells to the corresponding position in the original text. */
-    public abstract Builder setBrailleToTextPositions(List<Integer> brailleToTextPositions);
+    public abstract Builder setBrailleToTextPositions(ImmutableIntArray brailleToTextPositions);
+
+    /** Same as {@link #setTextToBraillePositions(ImmutableIntArray)}, used by native code. */
+    @UsedByNative("louis_translation.cc")
+    public Builder setTextToBraillePositions(int[] textToBraillePositions) {
+      return setTextToBraillePositions(ImmutableIntArray.copyOf(textToBraillePositions));
+    }
+
+    /** Same as {@link #setBrailleToTextPositions(ImmutableIntArray)}, used by native code. */
+    @UsedByNative("louis_translation.cc")
+    public Builder setBrailleToTextPositions(int[] brailleToTextPositions) {
+      return setBrailleToTextPositions(ImmutableIntArray.copyOf(brailleToTextPositions));
+    }
 
     /**
      * Returns the cursor position corresponding to the cursor position specified when translating
@@ -108,17 +117,18 @@ public abstract class TranslationResult {
 
   /** Creates a result where all cells contain the special unknown, not-sure-what-to-render cell. */
   public static TranslationResult createUnknown(CharSequence text, int cursorPosition) {
-    List<Integer> map = new ArrayList<>(text.length());
+    ImmutableIntArray.Builder map = ImmutableIntArray.builder(text.length());
     BrailleWord translation = new BrailleWord();
     for (int i = 0; i < text.length(); i++) {
       map.add(i);
       translation.append(BrailleCharacter.FULL_CELL);
     }
+    ImmutableIntArray identity = map.build();
     return TranslationResult.builder()
         .setText(text)
         .setCells(translation)
-        .setTextToBraillePositions(map)
-        .setBrailleToTextPositions(map)
+        .setTextToBraillePositions(identity)
+        .setBrailleToTextPositions(identity)
         .setCursorBytePosition(cursorPosition)
         .build();
   }
@@ -130,63 +140,78 @@ public abstract class TranslationResult {
       int textStart,
       int textEnd) {
     final BrailleWord brailleWord = new BrailleWord();
-    final List<Integer> textToBraillePositions = new ArrayList<>();
-    final List<Integer> brailleToTextPositions = new ArrayList<>();
+    ImmutableIntArray incorrectTextToBraille = incorrectResult.textToBraillePositions();
+    ImmutableIntArray incorrectBrailleToText = incorrectResult.brailleToTextPositions();
+    final ImmutableIntArray.Builder textToBraillePositions =
+        ImmutableIntArray.builder(incorrectTextToBraille.length());
+    final ImmutableIntArray.Builder brailleToTextPositions =
+        ImmutableIntArray.builder(incorrectBrailleToText.length() + correctBrailleWord.size());
 
     if (textStart == 0) {
-      brailleToTextPositions.addAll(Collections.nCopies(correctBrailleWord.size(), 0));
-      textToBraillePositions.addAll(Collections.nCopies(textEnd - textStart, 0));
+      appendCopies(brailleToTextPositions, correctBrailleWord.size(), 0);
+      appendCopies(textToBraillePositions, textEnd - textStart, 0);
     } else {
-      int byteStart = incorrectResult.textToBraillePositions().get(textStart);
+      int byteStart = incorrectTextToBraille.get(textStart);
       brailleWord.append(incorrectResult.cells().subword(0, byteStart));
-      textToBraillePositions.addAll(incorrectResult.textToBraillePositions().subList(0, textStart));
-      brailleToTextPositions.addAll(incorrectResult.brailleToTextPositions().subList(0, byteStart));
+      textToBraillePositions.addAll(incorrectTextToBraille.subArray(0, textStart));
+      brailleToTextPositions.addAll(incorrectBrailleToText.subArray(0, byteStart));
 
-      textToBraillePositions.addAll(Collections.nCopies(textEnd - textStart, brailleWord.size()));
-      for (int i = 0; i < correctBrailleWord.size(); i++) {
-        brailleToTextPositions.add(incorrectResult.text().subSequence(0, textStart).length());
-      }
+      appendCopies(textToBraillePositions, textEnd - textStart, brailleWord.size());
+      appendCopies(brailleToTextPositions, correctBrailleWord.size(), textStart);
     }
     brailleWord.append(correctBrailleWord);
 
     if (textEnd != incorrectResult.text().length()) {
-      int byteEnd = incorrectResult.textToBraillePositions().get(textEnd);
-      int byteStart = incorrectResult.textToBraillePositions().get(textStart);
+      int byteEnd = incorrectTextToBraille.get(textEnd);
+      int byteStart = incorrectTextToBraille.get(textStart);
       brailleWord.append(incorrectResult.cells().subword(byteEnd, incorrectResult.cells().size()));
-      for (int i :
-          incorrectResult
-              .textToBraillePositions()
-              .subList(textEnd, incorrectResult.text().length())) {
-        textToBraillePositions.add(byteStart + (i - byteEnd) + correctBrailleWord.size());
+      for (int i = textEnd; i < incorrectResult.text().length(); i++) {
+        textToBraillePositions.add(
+            byteStart + (incorrectTextToBraille.get(i) - byteEnd) + correctBrailleWord.size());
       }
       brailleToTextPositions.addAll(
-          incorrectResult
-              .brailleToTextPositions()
-              .subList(byteEnd, incorrectResult.brailleToTextPositions().size()));
+          incorrectBrailleToText.subArray(byteEnd, incorrectBrailleToText.length()));
     }
 
     return TranslationResult.builder()
         .setText(incorrectResult.text())
         .setCells(brailleWord)
-        .setTextToBraillePositions(textToBraillePositions)
-        .setBrailleToTextPositions(brailleToTextPositions)
+        .setTextToBraillePositions(textToBraillePositions.build())
+        .setBrailleToTextPositions(brailleToTextPositions.build())
         .setCursorBytePosition(incorrectResult.cursorBytePosition())
         .build();
   }
 
-  /** Extends translation result by one empty cell. */
+  /**
+   * Extends translation result by one empty cell, which is mapped to a trailing space in the text.
+   *
+   * <p>The cells of {@code result} are extended in place and shared with the returned result, so
+   * {@code result} should not be used afterwards.
+   */
   public static TranslationResult appendOneEmptyCell(TranslationResult result) {
-    List<Integer> brailleToText = new ArrayList<>(result.textToBraillePositions());
-    brailleToText.add(result.cells().size());
-    List<Integer> textToBraille = new ArrayList<>(result.brailleToTextPositions());
-    textToBraille.add(result.text().length());
+    ImmutableIntArray textToBraille =
+        ImmutableIntArray.builder(result.textToBraillePositions().length() + 1)
+            .addAll(result.textToBraillePositions())
+            .add(result.cells().size())
+            .build();
+    ImmutableIntArray brailleToText =
+        ImmutableIntArray.builder(result.brailleToTextPositions().length() + 1)
+            .addAll(result.brailleToTextPositions())
+            .add(result.text().length())
+            .build();
     result.cells().append(EMPTY_CELL);
     return TranslationResult.builder()
         .setCells(result.cells())
         .setText(result.text() + " ")
-        .setTextToBraillePositions(brailleToText)
-        .setBrailleToTextPositions(textToBraille)
+        .setTextToBraillePositions(textToBraille)
+        .setBrailleToTextPositions(brailleToText)
         .setCursorBytePosition(result.cursorBytePosition())
         .build();
   }
+
+  private static void appendCopies(ImmutableIntArray.Builder builder, int count, int value) {
+    for (int i = 0; i < count; i++) {
+      builder.add(value);
+    }
+  }
 }
@@ -22,9 +22,7 @@ import com.google.android.accessibility.braille.interfaces.BrailleWord;
 import com.google.android.accessibility.braille.translate.BrailleTranslator;
 import com.google.android.accessibility.braille.translate.TranslationResult;
 import com.google.common.base.Splitter;
-import com.google.common.collect.ImmutableList;
-import java.util.ArrayList;
-import java.util.List;
+import com.google.common.primitives.ImmutableIntArray;
 import java.util.Objects;
 
 /**
@@ -94,24 +92,24 @@ public class ExpandableContractedTranslator implements BrailleTranslator {
     BrailleWord beforeWordWord = beforeWordResult.cells();
     BrailleWord expandableWord = expandableWordResult.cells();
     BrailleWord afterWordWord = afterWordResult.cells();
-    ImmutableList<Integer> beforeWordTextToBraillePositions =
+    ImmutableIntArray beforeWordTextToBraillePositions =
         beforeWordResult.textToBraillePositions();
-    ImmutableList<Integer> beforeWordBrailleToTextPositions =
+    ImmutableIntArray beforeWordBrailleToTextPositions =
         beforeWordResult.brailleToTextPositions();
-    ImmutableList<Integer> expandableWordTextToBraillePositions =
+    ImmutableIntArray expandableWordTextToBraillePositions =
         expandableWordResult.textToBraillePositions();
-    ImmutableList<Integer> expandableWordBrailleToTextPositions =
+    ImmutableIntArray expandableWordBrailleToTextPositions =
         expandableWordResult.brailleToTextPositions();
-    ImmutableList<Integer> afterWordTextToBraillePositions =
+    ImmutableIntArray afterWordTextToBraillePositions =
         afterWordResult.textToBraillePositions();
-    ImmutableList<Integer> afterWordBrailleToTextPositions =
+    ImmutableIntArray afterWordBrailleToTextPositions =
         afterWordResult.brailleToTextPositions();
     BrailleWord all = new BrailleWord();
     all.append(beforeWordWord);
     all.append(expandableWord);
     all.append(afterWordWord);
-    List<Integer> textToBraille = new ArrayList<>(wholeText.length());
-    List<Integer> brailleToText = new ArrayList<>(all.size());
+    ImmutableIntArray.Builder textToBraille = ImmutableIntArray.builder(wholeText.length());
+    ImmutableIntArray.Builder brailleToText = ImmutableIntArray.builder(all.size());
     // Assign the position of braille byte array to each character in text.
     for (int i = 0; i < wholeText.length(); i++) {
       if (i < beforeWord.length()) {
@@ -147,8 +145,8 @@ public class ExpandableContractedTranslator implements BrailleTranslator {
     return TranslationResult.builder()
         .setText(wholeText)
         .setCells(all)
-        .setTextToBraillePositions(textToBraille)
-        .setBrailleToTextPositions(brailleToText)
+        .setTextToBraillePositions(textToBraille.build())
+        .setBrailleToTextPositions(brailleToText.build())
         .setCursorBytePosition(cursorPosition)
         .build();
   }
@@ -16,8 +16,6 @@
 
 package com.google.android.accessibility.braille.translate.liblouis;
 
-import static java.util.stream.Collectors.joining;
-
 import android.content.Context;
 import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
@@ -29,6 +27,7 @@ import com.google.android.accessibility.braille.translate.TranslationResult;
 import com.google.android.accessibility.braille.translate.liblouis.LouisTranslation.TranslationMode;
 import com.google.android.accessibility.utils.BuildVersionUtils;
 import java.io.File;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -56,7 +55,8 @@ public class LibLouisTranslator implements BrailleTranslator {
       tablesDir = customTablesDir;
     } else {
       tablesDir = context.getDir("translator", Context.MODE_PRIVATE);
-      TranslateUtils.extractTables(context.getResources(), R.raw.translationtables, tablesDir);
+      TranslateUtils.extractTablesIfNeeded(
+          context.getResources(), R.raw.translationtables, tablesDir);
     }
     LouisTranslation.setTablesDir(tablesDir.getPath());
     bypassMap = new LinkedHashMap<>();
@@ -129,29 +129,49 @@ public class LibLouisTranslator implements BrailleTranslator {
       return translationRaw;
     }
     List<BrailleWord> tokens = brailleWord.tokenize(commutativityMap.keySet());
-    String translateThenConcatenate =
-        tokens.stream()
-            .map(brailleWord1 -> translateToPrintDirect(brailleWord1, false))
-            .collect(joining());
-    if (!translationRaw.equals(translateThenConcatenate)) {
+    // Translate token by token, stopping at the first token whose translation diverges from the
+    // raw translation. Each token is translated only once, and repeated special characters are
+    // translated only once per word.
+    String[] tokenTranslations = new String[tokens.size()];
+    Map<BrailleCharacter, String> specialTranslations = new HashMap<>();
+    int offset = 0;
+    for (int i = 0; i < tokens.size(); i++) {
+      BrailleWord token = tokens.get(i);
+      String tokenTranslation;
+      if (isCommutativityToken(token)) {
+        tokenTranslation = specialTranslations.get(token.get(0));
+        if (tokenTranslation == null) {
+          tokenTranslation = translateToPrintDirect(token, false);
+          specialTranslations.put(token.get(0), tokenTranslation);
+        }
+      } else {
+        tokenTranslation = translateToPrintDirect(token, false);
+      }
+      if (!translationRaw.startsWith(tokenTranslation, offset)) {
+        return translationRaw;
+      }
+      offset += tokenTranslation.length();
+      tokenTranslations[i] = tokenTranslation;
+    }
+    if (offset != translationRaw.length()) {
       return translationRaw;
     }
     // Hooray - the translate and concatenate operations commute.  That means that we can
     // translate token-by-token, which allows keys in the commutativityMap to be translated
     // to their corresponding commutativityMap values.
     StringBuilder translationSB = new StringBuilder();
-    for (BrailleWord token : tokens) {
-      String tokenTranslation;
-      if (token.size() == 1 && commutativityMap.containsKey(token.get(0))) {
-        tokenTranslation = commutativityMap.get(token.get(0));
-      } else {
-        tokenTranslation = translateToPrintDirect(token, false);
-      }
-      translationSB.append(tokenTranslation);
+    for (int i = 0; i < tokens.size(); i++) {
+      BrailleWord token = tokens.get(i);
+      translationSB.append(
+          isCommutativityToken(token) ? commutativityMap.get(token.get(0)) : tokenTranslations[i]);
     }
     return translationSB.toString();
   }
 
+  private boolean isCommutativityToken(BrailleWord token) {
+    return token.size() == 1 && commutativityMap.containsKey(token.get(0));
+  }
+
   @Override
   public TranslationResult translate(CharSequence text, int cursorPosition) {
     return LouisTranslation.translate(text, tableName, cursorPosition);
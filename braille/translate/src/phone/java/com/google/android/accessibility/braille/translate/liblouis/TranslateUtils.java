@@ -17,14 +17,21 @@
 package com.google.android.accessibility.braille.translate.liblouis;
 
 import android.content.res.Resources;
+import android.os.SystemClock;
 import com.google.android.libraries.accessibility.utils.log.LogUtils;
 import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
 import java.util.zip.ZipInputStream;
@@ -32,9 +39,50 @@ import java.util.zip.ZipInputStream;
 /** Utils for translation. */
 public class TranslateUtils {
   private static final String TAG = "TranslateUtils";
+  private static final String MANIFEST_FILE_NAME = ".manifest";
+  private static final Object extractionLock = new Object();
 
   public static boolean extractTables(Resources resources, int rawResId, File output) {
-    List<File> extractedFiles = new ArrayList<>();
+    return extractTables(resources, rawResId, output, new ArrayList<>());
+  }
+
+  /**
+   * Extracts the tables like {@link #extractTables}, unless the manifest written by a previous
+   * extraction shows that {@code output} already holds the current content of the archive.
+   *
+   * <p>The manifest records a checksum of the archive and the length of every extracted file.
+   * Checking it reads the archive without inflating it and stats the extracted files, which is much
+   * cheaper than rewriting all of them.
+   */
+  public static boolean extractTablesIfNeeded(Resources resources, int rawResId, File output) {
+    synchronized (extractionLock) {
+      long startMs = SystemClock.uptimeMillis();
+      long checksum;
+      try {
+        checksum = checksum(resources, rawResId);
+      } catch (IOException e) {
+        LogUtils.e(TAG, "Exception during checksum()", e);
+        return extractTables(resources, rawResId, output);
+      }
+      File manifest = new File(output, MANIFEST_FILE_NAME);
+      if (isManifestCurrent(manifest, output, checksum)) {
+        LogUtils.d(
+            TAG, "Tables in %s are current, checked in %d ms", output, elapsedSince(startMs));
+        return true;
+      }
+      manifest.delete();
+      List<File> extractedFiles = new ArrayList<>();
+      if (!extractTables(resources, rawResId, output, extractedFiles)) {
+        return false;
+      }
+      writeManifest(manifest, output, checksum, extractedFiles);
+      LogUtils.i(TAG, "Extracted tables to %s in %d ms", output, elapsedSince(startMs));
+      return true;
+    }
+  }
+
+  private static boolean extractTables(
+      Resources resources, int rawResId, File output, List<File> extractedFiles) {
     final InputStream stream = resources.openRawResource(rawResId);
     final ZipInputStream zipStream = new ZipInputStream(new BufferedInputStream(stream));
     try {
@@ -84,6 +132,81 @@ public class TranslateUtils {
     }
   }
 
+  /** Returns the CRC32 of the raw bytes of the archive. */
+  private static long checksum(Resources resources, int rawResId) throws IOException {
+    CRC32 crc = new CRC32();
+    try (InputStream stream = new CheckedInputStream(resources.openRawResource(rawResId), crc)) {
+      final byte[] buffer = new byte[10240];
+      while (stream.read(buffer) != -1) {
+        // Reading updates the checksum.
+      }
+    }
+    return crc.getValue();
+  }
+
+  /**
+   * Returns whether {@code manifest} was written for the archive with {@code checksum}, and every
+   * file it lists is still present under {@code output} with its extracted length.
+   */
+  private static boolean isManifestCurrent(File manifest, File output, long checksum) {
+    if (!manifest.exists()) {
+      return false;
+    }
+    try (BufferedReader reader = new BufferedReader(new FileReader(manifest))) {
+      String line = reader.readLine();
+      if (line == null || Long.parseLong(line, 16) != checksum) {
+        return false;
+      }
+      while ((line = reader.readLine()) != null) {
+        int separator = line.indexOf(' ');
+        if (separator < 0) {
+          return false;
+        }
+        File file = new File(output, line.substring(separator + 1));
+        if (!file.isFile() || file.length() != Long.parseLong(line.substring(0, separator))) {
+          return false;
+        }
+      }
+      return true;
+    } catch (IOException | NumberFormatException e) {
+      LogUtils.w(TAG, "Unreadable table manifest: %s", e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Writes the manifest of a completed extraction. The manifest is renamed into place at the end,
+   * so that an interrupted write leaves no manifest rather than a partial one.
+   */
+  private static void writeManifest(
+      File manifest, File output, long checksum, List<File> extractedFiles) {
+    File temp = new File(output, MANIFEST_FILE_NAME + ".tmp");
+    String outputPath = output.getPath() + File.separator;
+    // Unlike PrintWriter, BufferedWriter reports write errors, such as a full disk, so a short
+    // manifest is never renamed into place.
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(temp))) {
+      writer.write(Long.toHexString(checksum));
+      writer.newLine();
+      for (File file : extractedFiles) {
+        if (file.isFile() && file.getPath().startsWith(outputPath)) {
+          writer.write(file.length() + " " + file.getPath().substring(outputPath.length()));
+          writer.newLine();
+        }
+      }
+    } catch (IOException e) {
+      LogUtils.e(TAG, "Exception during writeManifest()", e);
+      temp.delete();
+      return;
+    }
+    if (!temp.renameTo(manifest)) {
+      temp.delete();
+    }
+  }
+
+  private static long elapsedSince(long startMs) {
+    return SystemClock.uptimeMillis() - startMs;
+  }
+
   private static void removeExtractedFiles(List<File> extractedFiles) {
     for (File extractedFile : extractedFiles) {
       if (!extractedFile.isDirectory()) {
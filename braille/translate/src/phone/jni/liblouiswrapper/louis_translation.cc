@@ -26,15 +26,10 @@
 #define INTERFACE_PACKAGE "com/google/android/accessibility/braille/interfaces/"
 #define LOG_TAG "LibLouisWrapper_Native"
 
-static jclass class_array_list;
-static jclass class_integer;
 static jclass class_charSequence;
 static jclass class_TranslationResult;
 static jclass class_TranslationResult_builder;
 static jclass class_BrailleWord;
-static jmethodID method_array_list_ctor;
-static jmethodID method_array_list_add;
-static jmethodID method_integer_ctor;
 static jmethodID method_toString;
 static jmethodID method_BrailleWord_ctor;
 static jmethodID method_TranslationResult_builder;
@@ -54,20 +49,6 @@ JNIEXPORT jboolean JNICALL JNI_METHOD(checkTableNative)(JNIEnv* env,
   return ret;
 }
 
-jobject create_array_list(JNIEnv* env, jintArray int_array) {
-  jobject list_object =
-      env->NewObject(class_array_list, method_array_list_ctor);
-  for (int i = 0; i < env->GetArrayLength(int_array); i++) {
-    jint* body = env->GetIntArrayElements(int_array, nullptr);
-    jobject int_obj =
-        env->NewObject(class_integer, method_integer_ctor, body[i]);
-    env->ReleaseIntArrayElements(int_array, body, 0);
-    env->CallBooleanMethod(list_object, method_array_list_add, int_obj);
-    env->DeleteLocalRef(int_obj);
-  }
-  return list_object;
-}
-
 // Translates print-characters to braille-cells. It returns a TranslationResult
 // object.
 JNIEXPORT jobject JNICALL JNI_METHOD(translateNative)(JNIEnv* env, jclass clazz,
@@ -169,10 +150,10 @@ JNIEXPORT jobject JNICALL JNI_METHOD(translateNative)(JNIEnv* env, jclass clazz,
                         braille_word);
   env->CallObjectMethod(
       object, method_TranslationResult_builder_setTextToBraillePositions,
-      create_array_list(env, output_pos_array));
+      output_pos_array);
   env->CallObjectMethod(
       object, method_TranslationResult_builder_setBrailleToTextPositions,
-      create_array_list(env, input_pos_array));
+      input_pos_array);
   env->CallObjectMethod(object,
                         method_TranslationResult_builder_setCursorBytePosition,
                         cursor_out_pos);
@@ -291,12 +272,12 @@ JNIEXPORT void JNICALL JNI_METHOD(classInitNative)(JNIEnv* env, jclass clazz) {
     method_TranslationResult_builder_setTextToBraillePositions =
         env->GetMethodID(class_TranslationResult_builder,
                          "setTextToBraillePositions",
-                         "(Ljava/util/List;)L" TRANSLATE_PACKAGE
+                         "([I)L" TRANSLATE_PACKAGE
                          "TranslationResult$Builder;");
     method_TranslationResult_builder_setBrailleToTextPositions =
         env->GetMethodID(class_TranslationResult_builder,
                          "setBrailleToTextPositions",
-                         "(Ljava/util/List;)L" TRANSLATE_PACKAGE
+                         "([I)L" TRANSLATE_PACKAGE
                          "TranslationResult$Builder;");
     method_TranslationResult_builder_setCursorBytePosition = env->GetMethodID(
         class_TranslationResult_builder, "setCursorBytePosition",
@@ -310,15 +291,6 @@ JNIEXPORT void JNICALL JNI_METHOD(classInitNative)(JNIEnv* env, jclass clazz) {
     method_BrailleWord_ctor =
         env->GetMethodID(class_BrailleWord, "<init>", "([B)V");
   }
-  if ((class_array_list = getGlobalClassRef(env, "java/util/ArrayList"))) {
-    method_array_list_ctor =
-        env->GetMethodID(class_array_list, "<init>", "()V");
-    method_array_list_add =
-        env->GetMethodID(class_array_list, "add", "(Ljava/lang/Object;)Z");
-  }
-  if ((class_integer = getGlobalClassRef(env, "java/lang/Integer"))) {
-    method_integer_ctor = env->GetMethodID(class_integer, "<init>", "(I)V");
-  }
   if ((class_charSequence = getGlobalClassRef(env, "java/lang/CharSequence"))) {
     method_toString = env->GetMethodID(class_charSequence, "toString",
                                        "()Ljava/lang/String;");
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.android.accessibility.talkback;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.accessibility.AccessibilityEvent;
+import com.google.android.accessibility.utils.AccessibilityEventListener;
+import com.google.android.accessibility.utils.Performance.EventId;
+import com.google.android.accessibility.utils.output.SpeechController;
+import com.google.android.libraries.accessibility.utils.concurrent.TaskScheduler;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Pauses the background lane of the {@link TaskScheduler} while TalkBack speaks or the user
+ * touches the screen, so that background work does not compete with the response to the user.
+ *
+ * <p>To avoid starving background work during continuous reading, the lane is resumed after
+ * {@link #MAX_PAUSE_MS} even if the interaction continues.
+ */
+class BackgroundWorkThrottler implements SpeechController.Observer, AccessibilityEventListener {
+
+  private static final long MAX_PAUSE_MS = 3000;
+
+  private static final int EVENT_TYPES =
+      AccessibilityEvent.TYPE_TOUCH_INTERACTION_START
+          | AccessibilityEvent.TYPE_TOUCH_INTERACTION_END;
+
+  private final TaskScheduler scheduler;
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Runnable resumeRunnable = this::resume;
+
+  private boolean speaking = false;
+  private boolean touching = false;
+
+  BackgroundWorkThrottler(TaskScheduler scheduler) {
+    this.scheduler = scheduler;
+  }
+
+  @Override
+  public int getEventTypes() {
+    return EVENT_TYPES;
+  }
+
+  @Override
+  public void onAccessibilityEvent(AccessibilityEvent event, @Nullable EventId eventId) {
+    touching = (event.getEventType() == AccessibilityEvent.TYPE_TOUCH_INTERACTION_START);
+    update();
+  }
+
+  @Override
+  public void onSpeechStarting() {
+    speaking = true;
+    update();
+  }
+
+  @Override
+  public void onSpeechCompleted() {
+    speaking = false;
+    update();
+  }
+
+  @Override
+  public void onSpeechPaused() {
+    speaking = false;
+    update();
+  }
+
+  /** Resumes the background lane and forgets the interaction state. */
+  void shutdown() {
+    speaking = false;
+    touching = false;
+    resume();
+  }
+
+  private void update() {
+    if (speaking || touching) {
+      if (!scheduler.isBackgroundPaused()) {
+        scheduler.pauseBackground();
+        handler.postDelayed(resumeRunnable, MAX_PAUSE_MS);
+      }
+    } else {
+      resume();
+    }
+  }
+
+  private void resume() {
+    handler.removeCallbacks(resumeRunnable);
+    scheduler.resumeBackground();
+  }
+}
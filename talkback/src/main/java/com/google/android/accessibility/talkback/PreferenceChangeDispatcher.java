@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.android.accessibility.talkback;
+
+import android.content.SharedPreferences;
+import android.content.SharedPreferences.OnSharedPreferenceChangeListener;
+import android.os.Handler;
+import android.os.Looper;
+import com.google.android.accessibility.utils.Logger;
+import com.google.android.libraries.accessibility.utils.log.LogUtils;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Dispatches shared preference changes to handlers registered for the changed keys, so that a
+ * change only reconfigures the parts of the service that depend on it.
+ *
+ * <p>Handlers of registered keys run as soon as the key changes, because the caller may rely on
+ * the new value right away, for example when the speech rate changes before announcing it. Keys
+ * without a handler fall back to a full reload. Full reloads are deferred to the end of the current
+ * looper turn, so that a burst of changes, e.g. from settings restore, causes a single reload; it
+ * then runs after the handlers of registered keys that changed in the same turn.
+ *
+ * <p>This class must be used on the main thread.
+ */
+class PreferenceChangeDispatcher implements OnSharedPreferenceChangeListener {
+
+  private static final String TAG = "PreferenceChangeDispatcher";
+
+  private final Runnable fullReload;
+  private final Map<String, List<Runnable>> handlersByKey = new HashMap<>();
+  private final Set<String> ignoredKeys = new HashSet<>();
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Runnable flushRunnable = this::flush;
+  private boolean fullReloadPending = false;
+
+  // Counters for the dump.
+  private long scopedChangeCount = 0;
+  private long ignoredChangeCount = 0;
+  private long fullReloadRequestCount = 0;
+  private long fullReloadCount = 0;
+
+  /**
+   * @param fullReload reloads all preferences, used for changes of keys without a handler
+   */
+  PreferenceChangeDispatcher(Runnable fullReload) {
+    this.fullReload = fullReload;
+  }
+
+  /**
+   * Registers {@code handler} to run when any of {@code keys} changes, instead of a full reload.
+   * The handler must apply everything that depends on these keys.
+   */
+  void register(Runnable handler, String... keys) {
+    for (String key : keys) {
+      handlersByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(handler);
+    }
+  }
+
+  /** Ignores changes of {@code keys}, which nothing reloaded by the full reload depends on. */
+  void ignore(String... keys) {
+    for (String key : keys) {
+      ignoredKeys.add(key);
+    }
+  }
+
+  @Override
+  public void onSharedPreferenceChanged(SharedPreferences prefs, @Nullable String key) {
+    LogUtils.d(TAG, "A shared preference changed: %s", key);
+    if (key != null && ignoredKeys.contains(key)) {
+      ignoredChangeCount++;
+      return;
+    }
+    @Nullable List<Runnable> handlers = (key == null) ? null : handlersByKey.get(key);
+    if (handlers == null) {
+      // Unknown key, or all preferences cleared.
+      requestFullReload();
+      return;
+    }
+    // Run the handlers even if a full reload is pending, since that only runs at the end of the
+    // looper turn.
+    scopedChangeCount++;
+    for (Runnable keyHandler : new LinkedHashSet<>(handlers)) {
+      keyHandler.run();
+    }
+  }
+
+  /** Drops any pending full reload. */
+  void shutdown() {
+    handler.removeCallbacks(flushRunnable);
+    fullReloadPending = false;
+  }
+
+  void dump(Logger dumpLogger) {
+    dumpLogger.log("Preference changes");
+    dumpLogger.log(
+        " scoped=%d, ignored=%d, fullReloadRequests=%d, fullReloads=%d",
+        scopedChangeCount, ignoredChangeCount, fullReloadRequestCount, fullReloadCount);
+    dumpLogger.log("");
+  }
+
+  private void requestFullReload() {
+    fullReloadRequestCount++;
+    if (!fullReloadPending) {
+      fullReloadPending = true;
+      handler.post(flushRunnable);
+    }
+  }
+
+  private void flush() {
+    if (!fullReloadPending) {
+      return;
+    }
+    fullReloadPending = false;
+    fullReloadCount++;
+    fullReload.run();
+  }
+}
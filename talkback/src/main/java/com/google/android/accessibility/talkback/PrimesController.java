@@ -39,6 +39,7 @@ public class PrimesController {
     IMAGE_CAPTION_IMAGE_DESCRIPTION_SUCCEED,
     IMAGE_CAPTION_IMAGE_DESCRIPTION_FAILED,
     IMAGE_CAPTION_IMAGE_PROCESS_BLOCK_OVERLAY,
+    IMAGE_CAPTION_IMAGE_PROCESS_CROP,
     GEMINI_RESPONSE_LATENCY,
     // This is only logged when the duration between the two requests is below the framework delay.
     LATENCY_BETWEEN_SCREENSHOT_CAPTURE_REQUEST,
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.android.accessibility.talkback;
+
+import android.os.SystemClock;
+import com.google.android.accessibility.utils.Logger;
+import com.google.android.accessibility.utils.output.SpeechController;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records how long each phase of the service startup takes, and the time from the service being
+ * connected to the first utterance.
+ *
+ * <p>Phases are consecutive: each {@link #mark} closes the phase which started at the previous
+ * mark. This class must be used on the main thread.
+ */
+class StartupTrace implements SpeechController.Observer {
+
+  private static final long UNSET = -1;
+
+  private final Map<String, Long> phaseDurationsMs = new LinkedHashMap<>();
+  private long startMs = UNSET;
+  private long lastMarkMs = UNSET;
+  private long firstSpeechMs = UNSET;
+
+  /** Starts the trace, forgetting any previous startup. */
+  void begin() {
+    phaseDurationsMs.clear();
+    startMs = SystemClock.uptimeMillis();
+    lastMarkMs = startMs;
+    firstSpeechMs = UNSET;
+  }
+
+  /** Ends the phase named {@code phase}, which started at the previous mark. */
+  void mark(String phase) {
+    if (startMs == UNSET) {
+      return;
+    }
+    long nowMs = SystemClock.uptimeMillis();
+    phaseDurationsMs.put(phase, nowMs - lastMarkMs);
+    lastMarkMs = nowMs;
+  }
+
+  @Override
+  public void onSpeechStarting() {
+    if ((startMs != UNSET) && (firstSpeechMs == UNSET)) {
+      firstSpeechMs = SystemClock.uptimeMillis();
+    }
+  }
+
+  @Override
+  public void onSpeechCompleted() {}
+
+  @Override
+  public void onSpeechPaused() {}
+
+  void dump(Logger dumpLogger) {
+    dumpLogger.log("Startup trace");
+    if (startMs == UNSET) {
+      dumpLogger.log(" not started");
+      dumpLogger.log("");
+      return;
+    }
+    for (Map.Entry<String, Long> phase : phaseDurationsMs.entrySet()) {
+      dumpLogger.log(" %s: %d ms", phase.getKey(), phase.getValue());
+    }
+    dumpLogger.log(" total: %d ms", lastMarkMs - startMs);
+    dumpLogger.log(
+        " timeToFirstSpeech: %s",
+        (firstSpeechMs == UNSET) ? "none yet" : (firstSpeechMs - startMs) + " ms");
+    dumpLogger.log("");
+  }
+}
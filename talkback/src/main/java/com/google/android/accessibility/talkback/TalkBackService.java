@@ -58,7 +58,6 @@ import android.content.Context;
 import android.content.DialogInterface;
 import android.content.Intent;
 import android.content.SharedPreferences;
-import android.content.SharedPreferences.OnSharedPreferenceChangeListener;
 import android.content.res.Configuration;
 import android.content.res.Resources;
 import android.media.AudioManager;
@@ -130,6 +129,7 @@ import com.google.android.accessibility.talkback.compositor.Compositor;
 import com.google.android.accessibility.talkback.compositor.CompositorUtils;
 import com.google.android.accessibility.talkback.compositor.EventFilter;
 import com.google.android.accessibility.talkback.compositor.GlobalVariables;
+import com.google.android.accessibility.talkback.compositor.roledescription.NodeDescriptionCache;
 import com.google.android.accessibility.talkback.compositor.roledescription.RoleDescriptionExtractor.DescriptionOrder;
 import com.google.android.accessibility.talkback.contextmenu.ListMenuManager;
 import com.google.android.accessibility.talkback.controller.TelevisionNavigationController;
@@ -144,6 +144,7 @@ import com.google.android.accessibility.talkback.eventprocessor.ProcessorVolumeS
 import com.google.android.accessibility.talkback.eventprocessor.ProcessorVolumeStream.TouchInteractingIndicator;
 import com.google.android.accessibility.talkback.feedbackpolicy.ScreenFeedbackManager;
 import com.google.android.accessibility.talkback.focusmanagement.AccessibilityFocusMonitor;
+import com.google.android.accessibility.talkback.focusmanagement.TraversalStrategyCache;
 import com.google.android.accessibility.talkback.focusmanagement.interpreter.ScreenStateMonitor;
 import com.google.android.accessibility.talkback.focusmanagement.interpreter.TouchExplorationInterpreter;
 import com.google.android.accessibility.talkback.focusmanagement.record.AccessibilityFocusActionHistory;
@@ -242,6 +243,7 @@ import com.google.android.accessibility.utils.output.SpeechController;
 import com.google.android.accessibility.utils.output.SpeechController.UtteranceCompleteRunnable;
 import com.google.android.accessibility.utils.output.SpeechControllerImpl;
 import com.google.android.accessibility.utils.output.SpeechControllerImpl.CapitalLetterHandlingMethod;
+import com.google.android.libraries.accessibility.utils.concurrent.TaskScheduler;
 import com.google.android.libraries.accessibility.utils.log.LogUtils;
 import com.google.common.collect.ImmutableMap;
 import java.io.FileDescriptor;
@@ -514,6 +516,18 @@ public class TalkBackService extends AccessibilityService
   /** Controller for speech feedback. */
   private SpeechControllerImpl speechController;
 
+  /** Pauses background work while TalkBack speaks or the user touches the screen. */
+  private BackgroundWorkThrottler backgroundWorkThrottler;
+
+  /** Reloads the preferences affected by a shared preference change. */
+  private PreferenceChangeDispatcher preferenceChangeDispatcher;
+
+  /** Times the phases of the service startup. */
+  private final StartupTrace startupTrace = new StartupTrace();
+
+  /** Reuses the traversal order of a window across navigation steps. */
+  private final TraversalStrategyCache traversalStrategyCache = new TraversalStrategyCache();
+
   /** Controller for diagnostic overlay (developer mode). */
   private DiagnosticOverlayControllerImpl diagnosticOverlayController;
 
@@ -632,6 +646,7 @@ public class TalkBackService extends AccessibilityService
 
   private final InputModeTracker inputModeTracker = new InputModeTracker();
   private WindowEventInterpreter windowEventInterpreter;
+  private ScrollEventInterpreter scrollEventInterpreter;
   private ScreenFeedbackManager processorScreen;
   private @Nullable ProcessorMagnification processorMagnification;
   private final DisableTalkBackCompleteAction disableTalkBackCompleteAction =
@@ -1343,9 +1358,11 @@ public class TalkBackService extends AccessibilityService
     primesController = new PrimesController();
     primesController.initialize(getApplication());
     primesController.startTimer(TimerAction.START_UP);
+    startupTrace.begin();
 
     SharedPreferencesUtils.migrateSharedPreferences(this);
     prefs = SharedPreferencesUtils.getSharedPreferences(this);
+    preferenceChangeDispatcher = createPreferenceChangeDispatcher();
 
     if (FeatureFlagReader.logEventBasedLatency(getBaseContext())) {
       eventLatencyLogger = new EventLatencyLogger(primesController, getApplicationContext(), prefs);
@@ -1354,6 +1371,7 @@ public class TalkBackService extends AccessibilityService
     if (FeatureFlagReader.usePeriodAsSeparator(getBaseContext())) {
       CompositorUtils.usePeriodAsSeparator();
     }
+    startupTrace.mark("preferences");
 
     initializeInfrastructure();
 
@@ -1379,12 +1397,14 @@ public class TalkBackService extends AccessibilityService
     initializeFingerprintGestureCallback();
 
     resumeInfrastructure();
+    startupTrace.mark("resume");
 
     // Handle any update actions.
     helper = new TalkBackUpdateHelper(this);
     helper.checkUpdate();
 
     compositor.handleEvent(Compositor.EVENT_SPOKEN_FEEDBACK_ON, EVENT_ID_UNTRACKED);
+    startupTrace.mark("announce");
 
     // If the locked-boot-completed intent was fired before onServiceConnected, we queued it,
     // so now we need to run it.
@@ -1436,6 +1456,7 @@ public class TalkBackService extends AccessibilityService
     intent.setPackage(getPackageName());
     sendBroadcast(intent);
 
+    startupTrace.mark("onboarding");
     primesController.stopTimer(TimerAction.START_UP);
   }
 
@@ -1527,11 +1548,15 @@ public class TalkBackService extends AccessibilityService
             feedbackController,
             FeatureFlagReader.removeUnnecessarySpans(this),
             FeatureFlagReader.enableCachedTtsLocale(this));
+    backgroundWorkThrottler = new BackgroundWorkThrottler(TaskScheduler.getInstance());
+    speechController.addObserver(backgroundWorkThrottler);
+    speechController.addObserver(startupTrace);
     if (FeatureFlagReader.enableAggressiveChunking(this)) {
       FeedbackProcessingUtils.enableAggressiveChunking();
     }
     speechStateMonitor = new SpeechStateMonitor();
     diagnosticOverlayController = new DiagnosticOverlayControllerImpl(this);
+    startupTrace.mark("speech");
 
     gestureShortcutMapping = new GestureShortcutMapping(this);
 
@@ -1552,6 +1577,7 @@ public class TalkBackService extends AccessibilityService
             : new ImageContents(labelManager, /* imageCaptionStorage= */ null);
 
     processorPhoneticLetters = new ProcessorPhoneticLetters(this, globalVariables);
+    processorPhoneticLetters.preloadKeyboardLocales();
 
     compositor =
         new Compositor(
@@ -1562,6 +1588,7 @@ public class TalkBackService extends AccessibilityService
             processorPhoneticLetters,
             getCompositorFlavor());
     // TODO: Make pipeline run Compositor, which returns speech feedback, no callback.
+    startupTrace.mark("labels and compositor");
 
     analytics = new TalkBackAnalyticsImpl(this);
 
@@ -1578,7 +1605,7 @@ public class TalkBackService extends AccessibilityService
     screenStateMonitor = new ScreenStateMonitor(/* service= */ this, inputMethodMonitor);
     FullScreenReadInterpreter fullScreenReadInterpreter = new FullScreenReadInterpreter();
     scrollPositionInterpreter = new ScrollPositionInterpreter();
-    ScrollEventInterpreter scrollEventInterpreter =
+    scrollEventInterpreter =
         new ScrollEventInterpreter(
             audioPlaybackMonitor, touchMonitor, TalkbackFeatureSupport.supportMultipleAutoScroll());
     ManualScrollInterpreter manualScrollInterpreter = new ManualScrollInterpreter();
@@ -1598,6 +1625,7 @@ public class TalkBackService extends AccessibilityService
         new ImageCaptioner(
             this, imageCaptionStorage, accessibilityFocusMonitor, analytics, primesController);
     GeminiFunctionUtils.setImageCaptioner(imageCaptioner);
+    startupTrace.mark("monitors and image captioner");
 
     // TODO: ScreenState should be passed through pipeline.
     focuser =
@@ -1624,7 +1652,8 @@ public class TalkBackService extends AccessibilityService
             processorPhoneticLetters,
             accessibilityFocusMonitor,
             screenStateMonitor.state,
-            universalSearchActor.state);
+            universalSearchActor.state,
+            traversalStrategyCache);
     directionNavigationActorStateReader = directionNavigationActor.state;
     TextEditActor editor =
         new TextEditActor(
@@ -1677,6 +1706,8 @@ public class TalkBackService extends AccessibilityService
                     this, BuildConfig.GEMINI_API_KEY, new GeminiRestRequestPerformer(this)),
             new AiCoreEndpoint(this));
 
+    startupTrace.mark("actors");
+
     // Construct pipeline.
     pipeline =
         new Pipeline(
@@ -1748,6 +1779,7 @@ public class TalkBackService extends AccessibilityService
             compositor,
             userInterface);
     onPipelineInitialized(pipeline);
+    startupTrace.mark("pipeline");
 
     voiceCommandProcessor.setActorState(pipeline.getActorState());
     voiceCommandProcessor.setPipeline(pipeline.getFeedbackReturner());
@@ -1813,7 +1845,16 @@ public class TalkBackService extends AccessibilityService
     if (processorMagnification != null) {
       addEventListener(processorMagnification);
     }
+    // Invalidate cached descriptions before the pipeline composes feedback for the same event.
+    @Nullable NodeDescriptionCache nodeDescriptionCache = compositor.getNodeDescriptionCache();
+    if (nodeDescriptionCache != null) {
+      addEventListener(nodeDescriptionCache);
+    }
+    // Drop the cached traversal order as soon as a window changes, even while the content change
+    // is held back by coalescing, since navigation does not wait for held events.
+    accessibilityEventProcessor.addUncoalescedEventListener(traversalStrategyCache);
     addEventListener(pipeline);
+    addEventListener(backgroundWorkThrottler);
 
     touchExplorationInterpreter.addTouchExplorationActionListener(accessibilityFocusInterpreter);
     screenStateMonitor.addScreenStateChangeListener(accessibilityFocusInterpreter);
@@ -1944,6 +1985,7 @@ public class TalkBackService extends AccessibilityService
       windowEventInterpreter.addListener(screenStateMonitor);
       windowEventInterpreter.addListener(uiChangeEventInterpreter);
       windowEventInterpreter.addListener(imageCaptioner);
+      windowEventInterpreter.addWindowsRemovedListener(scrollEventInterpreter::onWindowsRemoved);
     }
 
     volumeMonitor = new VolumeMonitor(pipeline.getFeedbackReturner(), this, callStateMonitor);
@@ -1978,6 +2020,7 @@ public class TalkBackService extends AccessibilityService
     }
 
     SpellChecker.setEnabled(FeatureFlagReader.supportActiveSpellCheck(this));
+    startupTrace.mark("menus, gestures and event processors");
 
     if (Build.VERSION.SDK_INT >= TelevisionNavigationController.MIN_API_LEVEL
         && formFactorUtils.isAndroidTv()) {
@@ -2041,6 +2084,7 @@ public class TalkBackService extends AccessibilityService
     brailleImeForTalkBackProvider = talkBackForBrailleIme.getBrailleImeForTalkBackProvider();
 
     BrailleIme.initialize(this, talkBackForBrailleIme, talkBackForBrailleCommon, brailleDisplay);
+    startupTrace.mark("television and braille");
     analytics.onTalkBackServiceStarted();
 
     TalkbackServiceStateNotifier.getInstance().notifyTalkBackServiceStateChanged(true);
@@ -2277,7 +2321,7 @@ public class TalkBackService extends AccessibilityService
       labelManager.onResume(/* context= */ this);
     }
 
-    prefs.registerOnSharedPreferenceChangeListener(sharedPreferenceChangeListener);
+    prefs.registerOnSharedPreferenceChangeListener(preferenceChangeDispatcher);
     prefs.registerOnSharedPreferenceChangeListener(analytics);
 
     if (processorMagnification != null) {
@@ -2385,7 +2429,10 @@ public class TalkBackService extends AccessibilityService
       requestTouchExploration(false);
     }
 
-    prefs.unregisterOnSharedPreferenceChangeListener(sharedPreferenceChangeListener);
+    prefs.unregisterOnSharedPreferenceChangeListener(preferenceChangeDispatcher);
+    preferenceChangeDispatcher.shutdown();
+    // No events are received while suspended, so the cached traversal order may become stale.
+    traversalStrategyCache.clear();
     prefs.unregisterOnSharedPreferenceChangeListener(analytics);
 
     unregisterReceivers(batteryMonitor, volumeMonitor);
@@ -2452,10 +2499,23 @@ public class TalkBackService extends AccessibilityService
       labelManager.shutdown();
     }
 
+    if (speechController != null) {
+      speechController.removeObserver(startupTrace);
+    }
+
+    if (backgroundWorkThrottler != null) {
+      speechController.removeObserver(backgroundWorkThrottler);
+      backgroundWorkThrottler.shutdown();
+    }
+
     if (imageCaptioner != null) {
       imageCaptioner.shutdown();
     }
 
+    if (processorPhoneticLetters != null) {
+      processorPhoneticLetters.shutdown();
+    }
+
     if (proximitySensorListener != null) {
       proximitySensorListener.shutdown();
     }
@@ -2543,6 +2603,28 @@ public class TalkBackService extends AccessibilityService
     }
   }
 
+  /**
+   * Creates the dispatcher of shared preference changes. Keys registered here only reload what
+   * depends on them, any other key reloads all service preferences.
+   */
+  private PreferenceChangeDispatcher createPreferenceChangeDispatcher() {
+    PreferenceChangeDispatcher dispatcher = new PreferenceChangeDispatcher(this::reloadPreferences);
+    // The stored animation factor is not related to TalkBack Settings at all, and the current
+    // selector setting is handled by the selector itself, which writes it on every selector
+    // gesture. Neither requires re-configuring TalkBack.
+    dispatcher.ignore(
+        getString(R.string.pref_previous_global_window_animation_scale_key),
+        getString(R.string.pref_current_selector_setting_key),
+        getString(R.string.pref_speech_rate_seekbar_key_int));
+    dispatcher.register(this::reloadSpeechPitch, getString(R.string.pref_speech_pitch_key));
+    dispatcher.register(this::reloadSpeechRate, getString(R.string.pref_speech_rate_key));
+    dispatcher.register(this::reloadSpeechVolume, getString(R.string.pref_speech_volume_key));
+    dispatcher.register(this::reloadFeedbackVolume, getString(R.string.pref_soundback_volume_key));
+    dispatcher.register(this::reloadDumpEventMask, getString(R.string.pref_dump_event_mask_key));
+    dispatcher.register(this::reloadPreferenceLogLevel, getString(R.string.pref_log_level_key));
+    return dispatcher;
+  }
+
   /** Reloads service preferences. */
   protected void reloadPreferences() {
     final Resources res = getResources();
@@ -2583,8 +2665,7 @@ public class TalkBackService extends AccessibilityService
             res.getString(R.string.pref_screenoff_key),
             res.getBoolean(R.bool.pref_screenoff_default)));
 
-    accessibilityEventProcessor.setDumpEventMask(
-        prefs.getInt(res.getString(R.string.pref_dump_event_mask_key), 0));
+    reloadDumpEventMask();
 
     proximitySensorListener.reloadSilenceOnProximity();
     reloadPreferenceLogLevel();
@@ -2661,13 +2742,8 @@ public class TalkBackService extends AccessibilityService
                 res.getString(R.string.pref_capital_letters_default)));
     speechController.setCapLetterFeedback(capLetterFeedback);
     globalVariables.setGlobalSayCapital(capLetterFeedback == CAPITAL_LETTERS_TYPE_SPEAK_CAP);
-    pipeline.setSpeechPitch(
-        SharedPreferencesUtils.getFloatFromStringPref(
-            prefs, res, R.string.pref_speech_pitch_key, R.string.pref_speech_pitch_default));
-    float speechRate =
-        SharedPreferencesUtils.getFloatFromStringPref(
-            prefs, res, R.string.pref_speech_rate_key, R.string.pref_speech_rate_default);
-    pipeline.setSpeechRate(speechRate);
+    reloadSpeechPitch();
+    reloadSpeechRate();
     int onScreenKeyboardPref = VerbosityPreferences.readOnScreenKeyboardEcho(prefs, getResources());
     textEventInterpreter.setOnScreenKeyboardEcho(onScreenKeyboardPref);
 
@@ -2678,23 +2754,14 @@ public class TalkBackService extends AccessibilityService
         getBooleanPref(R.string.pref_use_audio_focus_key, R.bool.pref_use_audio_focus_default);
     pipeline.setUseAudioFocus(useAudioFocus);
 
-    // Speech volume is stored as int [0,100] and scaled to float [0,1].
-    if (!FeatureSupport.hasAccessibilityAudioStream(this)) {
-      pipeline.setSpeechVolume(
-          SharedPreferencesUtils.getIntFromStringPref(
-                  prefs, res, R.string.pref_speech_volume_key, R.string.pref_speech_volume_default)
-              / 100.0f);
-    }
+    reloadSpeechVolume();
 
     if (speakPasswordsManager != null) {
       speakPasswordsManager.onPreferencesChanged();
     }
 
     // Reload feedback preferences.
-    int adjustment =
-        SharedPreferencesUtils.getIntFromStringPref(
-            prefs, res, R.string.pref_soundback_volume_key, R.string.pref_soundback_volume_default);
-    feedbackController.setVolumeAdjustment(adjustment / 100.0f);
+    reloadFeedbackVolume();
 
     boolean hapticEnabled =
         FeatureSupport.isVibratorSupported(getApplicationContext())
@@ -2800,6 +2867,52 @@ public class TalkBackService extends AccessibilityService
     FocusIndicatorUtils.applyFocusAppearancePreference(this, prefs, res);
   }
 
+  private void reloadSpeechPitch() {
+    pipeline.setSpeechPitch(
+        SharedPreferencesUtils.getFloatFromStringPref(
+            prefs,
+            getResources(),
+            R.string.pref_speech_pitch_key,
+            R.string.pref_speech_pitch_default));
+  }
+
+  private void reloadSpeechRate() {
+    pipeline.setSpeechRate(
+        SharedPreferencesUtils.getFloatFromStringPref(
+            prefs,
+            getResources(),
+            R.string.pref_speech_rate_key,
+            R.string.pref_speech_rate_default));
+  }
+
+  private void reloadSpeechVolume() {
+    // Speech volume is stored as int [0,100] and scaled to float [0,1].
+    if (!FeatureSupport.hasAccessibilityAudioStream(this)) {
+      pipeline.setSpeechVolume(
+          SharedPreferencesUtils.getIntFromStringPref(
+                  prefs,
+                  getResources(),
+                  R.string.pref_speech_volume_key,
+                  R.string.pref_speech_volume_default)
+              / 100.0f);
+    }
+  }
+
+  private void reloadFeedbackVolume() {
+    int adjustment =
+        SharedPreferencesUtils.getIntFromStringPref(
+            prefs,
+            getResources(),
+            R.string.pref_soundback_volume_key,
+            R.string.pref_soundback_volume_default);
+    feedbackController.setVolumeAdjustment(adjustment / 100.0f);
+  }
+
+  private void reloadDumpEventMask() {
+    accessibilityEventProcessor.setDumpEventMask(
+        prefs.getInt(getString(R.string.pref_dump_event_mask_key), 0));
+  }
+
   private void reloadPreferenceLogLevel() {
     LogUtils.setLogLevel(
         SharedPreferencesUtils.getIntFromStringPref(
@@ -3006,18 +3119,6 @@ public class TalkBackService extends AccessibilityService
     return getResources().getBoolean(R.bool.skip_tutorial_in_launching);
   }
 
-  /** Reloads preferences whenever their values change. */
-  private final OnSharedPreferenceChangeListener sharedPreferenceChangeListener =
-      (prefs, key) -> {
-        LogUtils.d(TAG, "A shared preference changed: %s", key);
-        if (getString(R.string.pref_previous_global_window_animation_scale_key).equals(key)) {
-          // The stored animation factor is no related to TalkBack Settings at all. We skip to
-          // reloadPreferences to avoid the additional of Talkback re-configuration.
-          return;
-        }
-        reloadPreferences();
-      };
-
   public void onLockedBootCompleted(EventId eventId) {
     if (serviceState == ServiceStateListener.SERVICE_STATE_INACTIVE) {
       // onServiceConnected has not completed yet. We need to defer the boot completion
@@ -3352,6 +3453,15 @@ public class TalkBackService extends AccessibilityService
   static final String COMPONENT_NODE_HIERARCHY = "node_hierarchy";
   static final String COMPONENT_COMPOSITOR_STATE = "compositor_state";
   static final String COMPONENT_SPEECH_CONTROLLER = "speech_controller";
+  static final String COMPONENT_SCROLL_EVENT_INTERPRETER = "scroll_event_interpreter";
+  static final String COMPONENT_EVENT_PROCESSOR = "event_processor";
+  static final String COMPONENT_LABEL_MANAGER = "label_manager";
+  static final String COMPONENT_NODE_DESCRIPTION_CACHE = "node_description_cache";
+  static final String COMPONENT_TASK_SCHEDULER = "task_scheduler";
+  static final String COMPONENT_BRAILLE_DISPLAY = "braille_display";
+  static final String COMPONENT_PREFERENCE_CHANGES = "preference_changes";
+  static final String COMPONENT_STARTUP_TRACE = "startup_trace";
+  static final String COMPONENT_TRAVERSAL_STRATEGY_CACHE = "traversal_strategy_cache";
   static final String COMPONENT_PERF_METRICS = "perf_metrics";
   static final String COMPONENT_PERF_METRICS_CLEAR = "clear_perf_metrics";
 
@@ -3392,6 +3502,34 @@ public class TalkBackService extends AccessibilityService
     if (dumpComponent(argsSet, COMPONENT_SPEECH_CONTROLLER)) {
       dumpSpeechController(dumpLogger);
     }
+    if (dumpComponent(argsSet, COMPONENT_SCROLL_EVENT_INTERPRETER)) {
+      dumpScrollEventInterpreter(dumpLogger);
+    }
+    if (dumpComponent(argsSet, COMPONENT_EVENT_PROCESSOR)) {
+      dumpEventProcessor(dumpLogger);
+    }
+    if (dumpComponent(argsSet, COMPONENT_LABEL_MANAGER)) {
+      dumpLabelManager(dumpLogger);
+    }
+    if (dumpComponent(argsSet, COMPONENT_NODE_DESCRIPTION_CACHE)) {
+      dumpNodeDescriptionCache(dumpLogger);
+    }
+    if (dumpComponent(argsSet, COMPONENT_TASK_SCHEDULER)) {
+      TaskScheduler.getInstance().dump(dumpLogger);
+    }
+    if (dumpComponent(argsSet, COMPONENT_BRAILLE_DISPLAY) && brailleDisplay != null) {
+      brailleDisplay.dump(dumpLogger);
+    }
+    if (dumpComponent(argsSet, COMPONENT_PREFERENCE_CHANGES)
+        && preferenceChangeDispatcher != null) {
+      preferenceChangeDispatcher.dump(dumpLogger);
+    }
+    if (dumpComponent(argsSet, COMPONENT_STARTUP_TRACE)) {
+      startupTrace.dump(dumpLogger);
+    }
+    if (dumpComponent(argsSet, COMPONENT_TRAVERSAL_STRATEGY_CACHE)) {
+      traversalStrategyCache.dump(dumpLogger);
+    }
   }
 
   private void dumpGestureMapping(Logger dumpLogger) {
@@ -3412,6 +3550,32 @@ public class TalkBackService extends AccessibilityService
     }
   }
 
+  private void dumpScrollEventInterpreter(Logger dumpLogger) {
+    if (scrollEventInterpreter != null) {
+      scrollEventInterpreter.dump(dumpLogger);
+    }
+  }
+
+  private void dumpEventProcessor(Logger dumpLogger) {
+    if (accessibilityEventProcessor != null) {
+      accessibilityEventProcessor.dump(dumpLogger);
+    }
+  }
+
+  private void dumpLabelManager(Logger dumpLogger) {
+    if (labelManager != null) {
+      labelManager.dump(dumpLogger);
+    }
+  }
+
+  private void dumpNodeDescriptionCache(Logger dumpLogger) {
+    @Nullable NodeDescriptionCache nodeDescriptionCache =
+        (compositor == null) ? null : compositor.getNodeDescriptionCache();
+    if (nodeDescriptionCache != null) {
+      nodeDescriptionCache.dump(dumpLogger);
+    }
+  }
+
   private void dumpBasicInfo(Logger dumpLogger) {
     dumpLogger.log("TalkBackService basic information: ");
     dumpLogger.log("  versionName=" + PackageManagerUtils.getVersionName(this));
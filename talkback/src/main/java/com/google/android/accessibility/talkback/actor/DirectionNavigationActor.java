@@ -37,6 +37,7 @@ import com.google.android.accessibility.talkback.focusmanagement.AccessibilityFo
 import com.google.android.accessibility.talkback.focusmanagement.FocusProcessorForLogicalNavigation;
 import com.google.android.accessibility.talkback.focusmanagement.NavigationTarget;
 import com.google.android.accessibility.talkback.focusmanagement.NavigationTarget.TargetType;
+import com.google.android.accessibility.talkback.focusmanagement.TraversalStrategyCache;
 import com.google.android.accessibility.talkback.focusmanagement.action.NavigationAction;
 import com.google.android.accessibility.talkback.focusmanagement.action.NavigationAction.ActionType;
 import com.google.android.accessibility.talkback.focusmanagement.interpreter.ScreenStateMonitor;
@@ -115,7 +116,8 @@ public class DirectionNavigationActor {
       ProcessorPhoneticLetters processorPhoneticLetters,
       AccessibilityFocusMonitor accessibilityFocusMonitor,
       ScreenStateMonitor.State screenState,
-      UniversalSearchActor.State searchState) {
+      UniversalSearchActor.State searchState,
+      TraversalStrategyCache traversalStrategyCache) {
     this.service = service;
     this.inputModeTracker = inputModeTracker;
     this.analytics = analytics;
@@ -127,7 +129,12 @@ public class DirectionNavigationActor {
 
     focusProcessorForLogicalNavigation =
         new FocusProcessorForLogicalNavigation(
-            service, focusFinder, accessibilityFocusMonitor, screenState, searchState);
+            service,
+            focusFinder,
+            accessibilityFocusMonitor,
+            screenState,
+            searchState,
+            traversalStrategyCache);
   }
 
   public void setPipeline(Pipeline.FeedbackReturner pipeline) {
@@ -22,6 +22,7 @@ import static com.google.android.accessibility.talkback.PrimesController.TimerAc
 import static com.google.android.accessibility.talkback.PrimesController.TimerAction.IMAGE_CAPTION_IMAGE_DESCRIPTION_FAILED;
 import static com.google.android.accessibility.talkback.PrimesController.TimerAction.IMAGE_CAPTION_IMAGE_DESCRIPTION_SUCCEED;
 import static com.google.android.accessibility.talkback.PrimesController.TimerAction.IMAGE_CAPTION_IMAGE_PROCESS_BLOCK_OVERLAY;
+import static com.google.android.accessibility.talkback.PrimesController.TimerAction.IMAGE_CAPTION_IMAGE_PROCESS_CROP;
 import static com.google.android.accessibility.talkback.PrimesController.TimerAction.IMAGE_CAPTION_OCR_FAILED;
 import static com.google.android.accessibility.talkback.PrimesController.TimerAction.IMAGE_CAPTION_OCR_SUCCEED;
 import static com.google.android.accessibility.talkback.PrimesController.TimerAction.LATENCY_BETWEEN_SCREENSHOT_CAPTURE_REQUEST;
@@ -75,7 +76,9 @@ import android.content.SharedPreferences;
 import android.content.SharedPreferences.OnSharedPreferenceChangeListener;
 import android.graphics.Bitmap;
 import android.graphics.Bitmap.Config;
+import android.graphics.Canvas;
 import android.graphics.Color;
+import android.graphics.Paint;
 import android.graphics.Rect;
 import android.os.Handler;
 import android.os.Looper;
@@ -184,6 +187,8 @@ public class ImageCaptioner extends Handler
   private static final Duration TAKE_SCREENSHOT_REQUEST_INTERVAL_TIMES =
       FeatureSupport.supportTakeScreenshot3fps() ? Duration.ofMillis(333) : Duration.ofSeconds(1);
   private static final ExecutorService executorService = Executors.newSingleThreadExecutor();
+  // Blackens views and windows which overlap with the captioned node.
+  private static final Paint BLOCK_PAINT = createBlockPaint();
 
   private final AccessibilityService service;
   private Pipeline.FeedbackReturner pipeline;
@@ -203,6 +208,7 @@ public class ImageCaptioner extends Handler
   @VisibleForTesting boolean isImageDescriptionProcessorInitializing;
   @VisibleForTesting @Nullable Future<Boolean> initImageDescriptionProcessFuture;
   @VisibleForTesting @Nullable Future<Boolean> shutDownImageDescriptionProcessFuture;
+  private final Runnable initializeModelsRunnable = this::initializeModels;
 
   /**
    * The unique ID for caption requests. The ID of different caption requests for a node are the
@@ -275,20 +281,9 @@ public class ImageCaptioner extends Handler
     SharedPreferencesUtils.getSharedPreferences(service)
         .registerOnSharedPreferenceChangeListener(this);
 
-    // Try to initialize icon detection and image description when TalkBack on.
-    if (initIconDetection()) {
-      // Ensures automatic icon detection feature is still enabled after updating.
-      if (!prefs.contains(service.getString(ImageCaptionPreferenceKeys.ICON_DETECTION.switchKey))
-          && iconDetectionModuleDownloadPrompter.isModuleAvailable()
-          && !iconDetectionModuleDownloadPrompter.isUninstalled()) {
-        putBooleanPref(ImageCaptionPreferenceKeys.ICON_DETECTION.switchKey, true);
-      }
-    } else {
-      LogUtils.v(TAG, "Icon detection is not initialized in ImageCaptioner()");
-    }
-    if (!initImageDescription()) {
-      LogUtils.v(TAG, "Image description is not initialized in ImageCaptioner()");
-    }
+    // Loading the models is slow and they are not needed before the first utterance, so defer it
+    // until the service has finished starting up.
+    post(initializeModelsRunnable);
     geminiOptInDialog =
         new GeminiOptInDialog(
             service,
@@ -424,6 +419,23 @@ public class ImageCaptioner extends Handler
         };
   }
 
+  private void initializeModels() {
+    // Try to initialize icon detection and image description when TalkBack on.
+    if (initIconDetection()) {
+      // Ensures automatic icon detection feature is still enabled after updating.
+      if (!prefs.contains(service.getString(ImageCaptionPreferenceKeys.ICON_DETECTION.switchKey))
+          && iconDetectionModuleDownloadPrompter.isModuleAvailable()
+          && !iconDetectionModuleDownloadPrompter.isUninstalled()) {
+        putBooleanPref(ImageCaptionPreferenceKeys.ICON_DETECTION.switchKey, true);
+      }
+    } else {
+      LogUtils.v(TAG, "Icon detection is not initialized in ImageCaptioner()");
+    }
+    if (!initImageDescription()) {
+      LogUtils.v(TAG, "Image description is not initialized in ImageCaptioner()");
+    }
+  }
+
   public static boolean supportsImageCaption(Context context) {
     return FeatureSupport.canTakeScreenShotByAccessibilityService()
         && TalkbackFeatureSupport.supportDynamicFeatures();
@@ -674,6 +686,7 @@ public class ImageCaptioner extends Handler
   }
 
   public void shutdown() {
+    removeCallbacks(initializeModelsRunnable);
     shutdownIconDetector();
     iconDetectionModuleDownloadPrompter.shutdown();
 
@@ -1082,17 +1095,14 @@ public class ImageCaptioner extends Handler
               }
             });
 
-    boolean isBlockedOut = false;
-    int width = screenshot.getWidth();
-    int height = screenshot.getHeight();
-    int[] pixels = new int[width * height];
-    screenshot.getPixels(pixels, /* offset= */ 0, width, /* x= */ 0, /* y= */ 0, width, height);
-
-    // Blackens views.
+    // Collects the blocks to blacken first, so that no pixel is touched if nothing overlaps.
+    List<Rect> blocks = new ArrayList<>();
     if (overlaps != null) {
       for (AccessibilityNodeInfoCompat overlap : overlaps) {
-        isBlockedOut = true;
-        blackenView(overlap, pixels, width);
+        LogUtils.v(TAG, "Blocks out %s", overlap);
+        Rect bounds = new Rect();
+        overlap.getBoundsInScreen(bounds);
+        blocks.add(bounds);
       }
     }
 
@@ -1106,55 +1116,33 @@ public class ImageCaptioner extends Handler
         }
         Rect windowBounds = new Rect();
         window.getBoundsInScreen(windowBounds);
-        if (windowBounds.intersect(nodeBounds)) {
-          isBlockedOut = true;
-          blackenWindow(window, pixels, width);
+        if (Rect.intersects(windowBounds, nodeBounds)) {
+          LogUtils.v(TAG, "Blocks window %s", window);
+          blocks.add(windowBounds);
         }
       }
     }
 
-    if (!isBlockedOut) {
+    if (blocks.isEmpty()) {
       return null;
     }
 
-    Bitmap blockedScreenshot = Bitmap.createBitmap(width, height, Config.ARGB_8888);
-    blockedScreenshot.setPixels(
-        pixels, /* offset= */ 0, width, /* x= */ 0, /* y= */ 0, width, height);
-
+    // The whole blocked screenshot is still needed for icon detection, so the blocks are drawn on
+    // a copy of the full screenshot. Copying and filling happen in native code, without moving
+    // the pixels through a Java array.
+    Bitmap blockedScreenshot = screenshot.copy(Config.ARGB_8888, /* isMutable= */ true);
+    Canvas canvas = new Canvas(blockedScreenshot);
+    for (Rect block : blocks) {
+      canvas.drawRect(block, BLOCK_PAINT);
+    }
     return blockedScreenshot;
   }
 
-  /** Makes the given node in the screenshot become black. */
-  private static void blackenView(
-      AccessibilityNodeInfoCompat node, int[] screenshotPixels, int width) {
-    LogUtils.v(TAG, "Blocks out %s", node);
-    Rect bounds = new Rect();
-    node.getBoundsInScreen(bounds);
-    blackenBlock(bounds, screenshotPixels, width);
-  }
-
-  /** Makes the given window in the screenshot become black. */
-  private static void blackenWindow(
-      AccessibilityWindowInfo window, int[] screenshotPixels, int width) {
-    LogUtils.v(TAG, "Blocks window %s", window);
-    Rect bounds = new Rect();
-    window.getBoundsInScreen(bounds);
-    blackenBlock(bounds, screenshotPixels, width);
-  }
-
-  /** Makes the block in the screenshot become black. */
-  private static void blackenBlock(Rect bounds, int[] screenshotPixels, int width) {
-    int size = screenshotPixels.length;
-    for (int row = bounds.top; row < bounds.bottom; row++) {
-      for (int column = bounds.left; column < bounds.right; column++) {
-        int index = row * width + column;
-        if (index >= size || index < 0) {
-          LogUtils.e(TAG, "blacken - invalid index");
-          return;
-        }
-        screenshotPixels[index] = Color.BLACK;
-      }
-    }
+  private static Paint createBlockPaint() {
+    Paint paint = new Paint();
+    paint.setColor(Color.BLACK);
+    paint.setStyle(Paint.Style.FILL);
+    return paint;
   }
 
   @VisibleForTesting
@@ -1723,8 +1711,9 @@ public class ImageCaptioner extends Handler
 
     long startTime = SystemClock.uptimeMillis();
     blockedScreenCapture = blockOverlaps(root, node, screenCapture);
+    long blockedTime = SystemClock.uptimeMillis();
     primesController.recordDuration(
-        IMAGE_CAPTION_IMAGE_PROCESS_BLOCK_OVERLAY, startTime, SystemClock.uptimeMillis());
+        IMAGE_CAPTION_IMAGE_PROCESS_BLOCK_OVERLAY, startTime, blockedTime);
     if (blockedScreenCapture == null) {
       blockedScreenCapture = screenCapture;
     } else {
@@ -1735,6 +1724,8 @@ public class ImageCaptioner extends Handler
 
     Bitmap croppedScreenCapture =
         cropImageWithNodeBounds(node, blockedScreenCapture, focusStrokeWidth);
+    primesController.recordDuration(
+        IMAGE_CAPTION_IMAGE_PROCESS_CROP, blockedTime, SystemClock.uptimeMillis());
 
     return ProcessedScreens.create(blockedScreenCapture, croppedScreenCapture);
   }
@@ -33,6 +33,8 @@ import com.google.android.accessibility.utils.SpellChecker;
 import com.google.android.accessibility.utils.output.FeedbackItem;
 import com.google.android.accessibility.utils.output.SpeechController;
 import com.google.android.accessibility.utils.output.SpeechController.SpeakOptions;
+import java.util.Arrays;
+import java.util.Comparator;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /** This class supports to navigation over content with SuggestionSpans. */
@@ -43,6 +45,9 @@ public class TypoNavigator {
   private final TextEditActor editor;
   private final AccessibilityFocusMonitor accessibilityFocusMonitor;
 
+  /** Index of the text navigated last, reused while the spell checker returns the same text. */
+  private @Nullable TypoIndex typoIndex;
+
   public TypoNavigator(
       Context context, TextEditActor editor, AccessibilityFocusMonitor accessibilityFocusMonitor) {
     this.context = context;
@@ -81,44 +86,24 @@ public class TypoNavigator {
     if (text instanceof Spannable) {
       int cursorPosition = node.getTextSelectionStart();
       Spanned spanned = (Spanned) text;
-      SuggestionSpan[] spansAfterCursor =
-          spanned.getSpans(cursorPosition, spanned.length(), SuggestionSpan.class);
-      SuggestionSpan[] spansBeforeCursor =
-          spanned.getSpans(0, cursorPosition, SuggestionSpan.class);
-      if (spansBeforeCursor != null
-          && spansBeforeCursor.length == 0
-          && spansAfterCursor != null
-          && spansAfterCursor.length == 0) {
+      TypoIndex index = getTypoIndex(spanned);
+      if (index.isEmpty()) {
         feedbackNoTypo(eventId);
         return false;
       }
-      SuggestionSpan[] spans = isNext ? spansAfterCursor : spansBeforeCursor;
-      if (spans != null) {
-        SuggestionSpan targetSpan = null;
-        for (int i = 0; i < spans.length; i++) {
-          // isNext checks from start to end, otherwise, end to start.
-          int index = isNext ? i : spans.length - 1 - i;
-          int start = spanned.getSpanStart(spans[index]);
-          if (start == -1) {
-            continue;
-          }
-          if ((isNext && cursorPosition < start) || (!isNext && cursorPosition > start)) {
-            targetSpan = spans[index];
-            break;
-          }
-        }
-        if (targetSpan != null) {
-          result = feedbackTypo(node, spanned, eventId, targetSpan);
-        }
-        if (!result) {
-          SuggestionSpan[] currentSpans =
-              spanned.getSpans(cursorPosition, cursorPosition, SuggestionSpan.class);
-          if (currentSpans.length > 0) {
-            int start = spanned.getSpanStart(currentSpans[0]);
-            int end = spanned.getSpanEnd(currentSpans[0]);
-            if (start <= cursorPosition && cursorPosition <= end) {
-              currentSpanned = spanned.subSequence(start, end);
-            }
+      @Nullable SuggestionSpan targetSpan =
+          isNext ? index.findNext(cursorPosition) : index.findPrevious(cursorPosition);
+      if (targetSpan != null) {
+        result = feedbackTypo(node, spanned, eventId, targetSpan);
+      }
+      if (!result) {
+        SuggestionSpan[] currentSpans =
+            spanned.getSpans(cursorPosition, cursorPosition, SuggestionSpan.class);
+        if (currentSpans.length > 0) {
+          int start = spanned.getSpanStart(currentSpans[0]);
+          int end = spanned.getSpanEnd(currentSpans[0]);
+          if (start <= cursorPosition && cursorPosition <= end) {
+            currentSpanned = spanned.subSequence(start, end);
           }
         }
       }
@@ -129,6 +114,13 @@ public class TypoNavigator {
     return result;
   }
 
+  private TypoIndex getTypoIndex(Spanned text) {
+    if ((typoIndex == null) || (typoIndex.text != text)) {
+      typoIndex = new TypoIndex(text);
+    }
+    return typoIndex;
+  }
+
   private void feedbackNoTypo(EventId eventId) {
     pipeline.returnFeedback(
         eventId,
@@ -206,4 +198,56 @@ public class TypoNavigator {
         .sound(soundRes)
         .vibration(R.array.typo_pattern);
   }
+
+  /**
+   * The {@link SuggestionSpan}s of a text, sorted by start offset, so that the typo nearest to the
+   * cursor is found by binary search instead of scanning the spans of the whole text.
+   */
+  private static final class TypoIndex {
+    private final Spanned text;
+    private final SuggestionSpan[] spans;
+    private final int[] starts;
+
+    TypoIndex(Spanned text) {
+      this.text = text;
+      spans = text.getSpans(0, text.length(), SuggestionSpan.class);
+      // The sort is stable, so spans starting at the same offset keep their order.
+      Arrays.sort(spans, Comparator.comparingInt(text::getSpanStart));
+      starts = new int[spans.length];
+      for (int i = 0; i < spans.length; i++) {
+        starts[i] = text.getSpanStart(spans[i]);
+      }
+    }
+
+    boolean isEmpty() {
+      return spans.length == 0;
+    }
+
+    /** Returns the first span starting after {@code offset}. */
+    @Nullable SuggestionSpan findNext(int offset) {
+      int index = countStartsBefore(offset + 1);
+      return (index < spans.length) ? spans[index] : null;
+    }
+
+    /** Returns the last span starting before {@code offset}. */
+    @Nullable SuggestionSpan findPrevious(int offset) {
+      int index = countStartsBefore(offset) - 1;
+      return (index >= 0) ? spans[index] : null;
+    }
+
+    /** Returns the number of spans starting before {@code offset}. */
+    private int countStartsBefore(int offset) {
+      int low = 0;
+      int high = starts.length;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (starts[middle] < offset) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+  }
 }
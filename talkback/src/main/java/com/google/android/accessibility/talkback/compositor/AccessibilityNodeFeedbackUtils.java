@@ -22,6 +22,7 @@ import android.content.SharedPreferences;
 import android.text.Spannable;
 import android.text.TextUtils;
 import android.text.style.LocaleSpan;
+import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
@@ -269,13 +270,16 @@ public class AccessibilityNodeFeedbackUtils {
       GlobalVariables globalVariables) {
     boolean needsLabel = imageContents != null && imageContents.needsLabel(node);
     boolean srcIsCheckable = node.isCheckable();
-    LogUtils.v(
-        TAG,
-        StringBuilderUtils.joinFields(
-            " getUnlabelledNodeDescription, ",
-            StringBuilderUtils.optionalTag("needsLabel", needsLabel),
-            StringBuilderUtils.optionalTag("srcIsCheckable", srcIsCheckable),
-            StringBuilderUtils.optionalText("role", Role.roleToString(role))));
+    if (LogUtils.shouldLog(Log.VERBOSE)) {
+      LogUtils.v(
+          TAG,
+          "%s",
+          StringBuilderUtils.joinFields(
+              " getUnlabelledNodeDescription, ",
+              StringBuilderUtils.optionalTag("needsLabel", needsLabel),
+              StringBuilderUtils.optionalTag("srcIsCheckable", srcIsCheckable),
+              StringBuilderUtils.optionalText("role", Role.roleToString(role))));
+    }
     if (!needsLabel
         || srcIsCheckable
         || (role == Role.ROLE_SEEK_CONTROL || role == Role.ROLE_PROGRESS_BAR)) {
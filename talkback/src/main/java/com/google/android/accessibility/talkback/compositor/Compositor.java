@@ -29,6 +29,7 @@ import androidx.annotation.IntDef;
 import androidx.annotation.VisibleForTesting;
 import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
 import com.google.android.accessibility.talkback.compositor.parsetree.ParseTree;
+import com.google.android.accessibility.talkback.compositor.roledescription.NodeDescriptionCache;
 import com.google.android.accessibility.talkback.compositor.roledescription.RoleDescriptionExtractor;
 import com.google.android.accessibility.talkback.eventprocessor.ProcessorPhoneticLetters;
 import com.google.android.accessibility.utils.AccessibilityEventUtils;
@@ -290,6 +291,8 @@ public class Compositor {
   /** Provides the event feedback outputs from Compositor-java. */
   private final EventFeedbackProvider talkbackFeedbackProvider;
 
+  private final @Nullable NodeDescriptionCache nodeDescriptionCache;
+
   private final GlobalVariables globalVariables;
   private final TextComposer textComposer = this::parseTTSText;
 
@@ -333,7 +336,7 @@ public class Compositor {
               ParseTreeCreator.createParseTree(context, variablesFactory, flavor),
               variablesFactory);
     }
-    talkbackFeedbackProvider =
+    TalkBackFeedbackProvider feedbackProvider =
         new TalkBackFeedbackProvider(
             flavor,
             context,
@@ -341,6 +344,8 @@ public class Compositor {
             globalVariables,
             new RoleDescriptionExtractor(context, imageContents, globalVariables),
             processorPhoneticLetters);
+    talkbackFeedbackProvider = feedbackProvider;
+    nodeDescriptionCache = feedbackProvider.getNodeDescriptionCache();
     long endTime = SystemClock.uptimeMillis();
     LogUtils.i(
         TAG,
@@ -349,6 +354,14 @@ public class Compositor {
         endTime - startTime);
   }
 
+  /**
+   * Returns the cache of node descriptions, which must be registered to receive accessibility
+   * events so content changes invalidate it.
+   */
+  public @Nullable NodeDescriptionCache getNodeDescriptionCache() {
+    return nodeDescriptionCache;
+  }
+
   public TextComposer getTextComposer() {
     return textComposer;
   }
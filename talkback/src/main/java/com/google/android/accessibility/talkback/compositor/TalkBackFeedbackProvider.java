@@ -28,6 +28,7 @@ import com.google.android.accessibility.talkback.compositor.Compositor.Flavor;
 import com.google.android.accessibility.talkback.compositor.Compositor.HandleEventOptions;
 import com.google.android.accessibility.talkback.compositor.hint.AccessibilityFocusHint;
 import com.google.android.accessibility.talkback.compositor.hint.tv.AccessibilityFocusHintForTV;
+import com.google.android.accessibility.talkback.compositor.roledescription.NodeDescriptionCache;
 import com.google.android.accessibility.talkback.compositor.roledescription.RoleDescriptionExtractor;
 import com.google.android.accessibility.talkback.compositor.roledescription.TreeNodesDescription;
 import com.google.android.accessibility.talkback.compositor.rule.EventTypeAnnouncementFeedbackRule;
@@ -57,6 +58,7 @@ import com.google.android.libraries.accessibility.utils.log.LogUtils;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Provides {@link EventFeedback} by the event feedback rule. And the event feedback rules are
@@ -71,6 +73,9 @@ public class TalkBackFeedbackProvider implements EventFeedbackProvider {
   private final Map<Integer, Function<HandleEventOptions, EventFeedback>> feedbackRules =
       new HashMap<>();
 
+  /** Cache of the node tree descriptions built by the rules, or null for test rules. */
+  private final @Nullable NodeDescriptionCache nodeDescriptionCache;
+
   TalkBackFeedbackProvider(
       @Flavor int flavor,
       Context context,
@@ -78,6 +83,9 @@ public class TalkBackFeedbackProvider implements EventFeedbackProvider {
       GlobalVariables globalVariables,
       RoleDescriptionExtractor roleDescriptionExtractor,
       ProcessorPhoneticLetters processorPhoneticLetters) {
+    TreeNodesDescription treeNodesDescription =
+        new TreeNodesDescription(context, imageContents, globalVariables, roleDescriptionExtractor);
+    nodeDescriptionCache = treeNodesDescription.getDescriptionCache();
     generateEventFeedbackRules(
         flavor,
         context,
@@ -85,13 +93,18 @@ public class TalkBackFeedbackProvider implements EventFeedbackProvider {
         globalVariables,
         roleDescriptionExtractor,
         processorPhoneticLetters,
-        new TreeNodesDescription(
-            context, imageContents, globalVariables, roleDescriptionExtractor));
+        treeNodesDescription);
   }
 
   @VisibleForTesting
   TalkBackFeedbackProvider(Map<Integer, Function<HandleEventOptions, EventFeedback>> rules) {
     feedbackRules.putAll(rules);
+    nodeDescriptionCache = null;
+  }
+
+  /** Returns the cache of node tree descriptions, which must receive content-change events. */
+  @Nullable NodeDescriptionCache getNodeDescriptionCache() {
+    return nodeDescriptionCache;
   }
 
   @Override
@@ -0,0 +1,258 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.android.accessibility.talkback.compositor.roledescription;
+
+import android.text.TextUtils;
+import android.view.accessibility.AccessibilityEvent;
+import androidx.annotation.VisibleForTesting;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat.CollectionItemInfoCompat;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat.RangeInfoCompat;
+import com.google.android.accessibility.talkback.compositor.GlobalVariables;
+import com.google.android.accessibility.utils.AccessibilityEventListener;
+import com.google.android.accessibility.utils.AccessibilityNodeInfoUtils;
+import com.google.android.accessibility.utils.ImageContents;
+import com.google.android.accessibility.utils.Logger;
+import com.google.android.accessibility.utils.Performance.EventId;
+import com.google.android.accessibility.utils.Role;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Bounded cache of node tree descriptions, so that re-focusing the same node, for example when
+ * swiping back and forth through a list, does not rebuild its description.
+ *
+ * <p>Entries are keyed on node identity, and are only used while a fingerprint of the node's own
+ * state and of the description settings is unchanged. Changes inside the node's subtree are not
+ * part of the fingerprint; they are covered by dropping all entries of a window when the window
+ * content changes.
+ *
+ * <p>Descriptions of range and progress nodes also read fields of the event, such as the item
+ * count, so they are never cached; see {@link #isCacheable}.
+ */
+public class NodeDescriptionCache implements AccessibilityEventListener {
+
+  /** Maximum number of cached descriptions. */
+  @VisibleForTesting static final int MAX_ENTRIES = 64;
+
+  private static final int INVALIDATING_EVENT_TYPES =
+      AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED
+          | AccessibilityEvent.TYPE_WINDOW_STATE_CHANGED
+          | AccessibilityEvent.TYPE_VIEW_SELECTED
+          | AccessibilityEvent.TYPE_VIEW_TEXT_CHANGED;
+
+  private final @Nullable ImageContents imageContents;
+  private final GlobalVariables globalVariables;
+
+  /** Cached descriptions, in access order so the least recently used entry is evicted first. */
+  private final LinkedHashMap<AccessibilityNodeInfoCompat, Entry> entries =
+      new LinkedHashMap<AccessibilityNodeInfoCompat, Entry>(
+          MAX_ENTRIES, 0.75f, /* accessOrder= */ true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<AccessibilityNodeInfoCompat, Entry> eldest) {
+          if (size() > MAX_ENTRIES) {
+            evictionCount++;
+            return true;
+          }
+          return false;
+        }
+      };
+
+  // Counters for the dump.
+  private long hitCount = 0;
+  private long missCount = 0;
+  private long staleCount = 0;
+  private long evictionCount = 0;
+  private long invalidationCount = 0;
+
+  public NodeDescriptionCache(
+      @Nullable ImageContents imageContents, GlobalVariables globalVariables) {
+    this.imageContents = imageContents;
+    this.globalVariables = globalVariables;
+  }
+
+  /**
+   * Returns whether the description of {@code node} only depends on the node and may be cached.
+   * Range and progress descriptions read the current value from the event, which is not part of the
+   * fingerprint.
+   */
+  public static boolean isCacheable(AccessibilityNodeInfoCompat node) {
+    if (node.getRangeInfo() != null) {
+      return false;
+    }
+    @Role.RoleName int role = Role.getRole(node);
+    return (role != Role.ROLE_SEEK_CONTROL) && (role != Role.ROLE_PROGRESS_BAR);
+  }
+
+  /**
+   * Returns the cached description of {@code node} for events of {@code eventType}, or {@code
+   * null} if there is none, or if the node or the description settings changed since it was
+   * cached.
+   */
+  public @Nullable CharSequence get(AccessibilityNodeInfoCompat node, int eventType) {
+    @Nullable Entry entry = entries.get(node);
+    if (entry == null || entry.eventType != eventType) {
+      missCount++;
+      return null;
+    }
+    if (!entry.fingerprint.matches(fingerprint(node))) {
+      staleCount++;
+      entries.remove(node);
+      return null;
+    }
+    hitCount++;
+    return entry.description;
+  }
+
+  /** Caches the description of {@code node} for events of {@code eventType}. */
+  public void put(AccessibilityNodeInfoCompat node, int eventType, CharSequence description) {
+    entries.put(
+        AccessibilityNodeInfoCompat.obtain(node),
+        new Entry(eventType, fingerprint(node), description));
+  }
+
+  /** Drops all cached descriptions. */
+  public void clear() {
+    entries.clear();
+  }
+
+  @Override
+  public int getEventTypes() {
+    return INVALIDATING_EVENT_TYPES;
+  }
+
+  @Override
+  public void onAccessibilityEvent(AccessibilityEvent event, @Nullable EventId eventId) {
+    if (entries.isEmpty()) {
+      return;
+    }
+    int windowId = event.getWindowId();
+    if (windowId == -1) {
+      invalidationCount += entries.size();
+      entries.clear();
+      return;
+    }
+    Iterator<AccessibilityNodeInfoCompat> iterator = entries.keySet().iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().getWindowId() == windowId) {
+        iterator.remove();
+        invalidationCount++;
+      }
+    }
+  }
+
+  public void dump(Logger dumpLogger) {
+    long lookups = hitCount + missCount + staleCount;
+    dumpLogger.log("Node description cache");
+    dumpLogger.log(
+        " size=%d, hits=%d, misses=%d, stale=%d, hitRate=%d%%",
+        entries.size(),
+        hitCount,
+        missCount,
+        staleCount,
+        (lookups == 0) ? 0 : (hitCount * 100 / lookups));
+    dumpLogger.log(" evictions=%d, invalidations=%d", evictionCount, invalidationCount);
+    dumpLogger.log("");
+  }
+
+  /**
+   * Returns the state of {@code node} and of the settings that its description depends on. This
+   * only reads fields of the node info, so it is much cheaper than building the description.
+   */
+  private Object[] fingerprint(AccessibilityNodeInfoCompat node) {
+    @Nullable CollectionItemInfoCompat itemInfo = node.getCollectionItemInfo();
+    @Nullable RangeInfoCompat rangeInfo = node.getRangeInfo();
+    return new Object[] {
+      node.getText(),
+      node.getContentDescription(),
+      node.getStateDescription(),
+      node.getHintText(),
+      node.getError(),
+      node.getTooltipText(),
+      node.getRoleDescription(),
+      node.getClassName(),
+      node.getChildCount(),
+      node.isCheckable(),
+      node.isChecked(),
+      node.isSelected(),
+      node.isEnabled(),
+      node.isPassword(),
+      AccessibilityNodeInfoUtils.isExpandable(node),
+      AccessibilityNodeInfoUtils.isCollapsible(node),
+      (itemInfo == null) ? -1 : itemInfo.getRowIndex(),
+      (itemInfo == null) ? -1 : itemInfo.getColumnIndex(),
+      (rangeInfo == null) ? -1 : rangeInfo.getType(),
+      (rangeInfo == null) ? null : rangeInfo.getMin(),
+      (rangeInfo == null) ? null : rangeInfo.getMax(),
+      (rangeInfo == null) ? null : rangeInfo.getCurrent(),
+      (imageContents == null) ? null : imageContents.getLabel(node),
+      (imageContents == null) ? null : imageContents.getCaptionResult(node),
+      (imageContents == null) ? null : imageContents.getImageDescriptionResult(node),
+      globalVariables.getDescriptionOrder(),
+      globalVariables.getSpeakRoles(),
+      globalVariables.getSpeakElementIds(),
+      globalVariables.getGlobalSayCapital(),
+      globalVariables.getUserPreferredLocale()
+    };
+  }
+
+  private static final class Entry {
+    final int eventType;
+    final Fingerprint fingerprint;
+    final CharSequence description;
+
+    Entry(int eventType, Object[] fingerprint, CharSequence description) {
+      this.eventType = eventType;
+      this.fingerprint = new Fingerprint(fingerprint);
+      this.description = description;
+    }
+  }
+
+  /** Snapshot of a fingerprint, compared element by element with texts compared by content. */
+  private static final class Fingerprint {
+    private final Object[] values;
+
+    Fingerprint(Object[] values) {
+      this.values = values;
+      for (int i = 0; i < values.length; i++) {
+        // Spanned texts may be mutable; keep a snapshot of the text.
+        if (values[i] instanceof CharSequence) {
+          values[i] = values[i].toString();
+        }
+      }
+    }
+
+    boolean matches(Object[] other) {
+      if (other.length != values.length) {
+        return false;
+      }
+      for (int i = 0; i < values.length; i++) {
+        Object value = other[i];
+        boolean equal =
+            (value instanceof CharSequence)
+                ? TextUtils.equals((CharSequence) values[i], (CharSequence) value)
+                : Objects.equals(values[i], value);
+        if (!equal) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -24,6 +24,7 @@ import static com.google.android.accessibility.talkback.compositor.roledescripti
 
 import android.content.Context;
 import android.text.TextUtils;
+import android.util.Log;
 import android.view.accessibility.AccessibilityEvent;
 import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
 import com.google.android.accessibility.talkback.R;
@@ -39,6 +40,7 @@ import com.google.android.libraries.accessibility.utils.log.LogUtils;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Provides tree nodes description.
@@ -60,6 +62,7 @@ public class TreeNodesDescription {
   private final ImageContents imageContents;
   private final GlobalVariables globalVariables;
   private final RoleDescriptionExtractor roleDescriptionExtractor;
+  private final NodeDescriptionCache descriptionCache;
 
   public TreeNodesDescription(
       Context context,
@@ -70,6 +73,12 @@ public class TreeNodesDescription {
     this.imageContents = imageContents;
     this.globalVariables = globalVariables;
     this.roleDescriptionExtractor = roleDescriptionExtractor;
+    descriptionCache = new NodeDescriptionCache(imageContents, globalVariables);
+  }
+
+  /** Returns the cache of aggregate descriptions, which must receive content-change events. */
+  public NodeDescriptionCache getDescriptionCache() {
+    return descriptionCache;
   }
 
   /**
@@ -81,6 +90,31 @@ public class TreeNodesDescription {
    */
   public CharSequence aggregateNodeTreeDescription(
       AccessibilityNodeInfoCompat node, AccessibilityEvent event) {
+    // Descriptions of live-region changes include changed children, so they are never cached.
+    boolean cacheable =
+        (node != null)
+            && (event != null)
+            && (event.getEventType() != TYPE_WINDOW_CONTENT_CHANGED)
+            && NodeDescriptionCache.isCacheable(node);
+    if (cacheable) {
+      @Nullable CharSequence cached = descriptionCache.get(node, event.getEventType());
+      if (cached != null) {
+        if (LogUtils.shouldLog(Log.VERBOSE)) {
+          LogUtils.v(TAG, "aggregateNodeTreeDescription: (%s) from cache", node.hashCode());
+        }
+        return cached;
+      }
+    }
+
+    CharSequence description = buildAggregateNodeTreeDescription(node, event);
+    if (cacheable) {
+      descriptionCache.put(node, event.getEventType(), description);
+    }
+    return description;
+  }
+
+  private CharSequence buildAggregateNodeTreeDescription(
+      AccessibilityNodeInfoCompat node, AccessibilityEvent event) {
     if (node == null) {
       LogUtils.w(TAG, "aggregateNodeTreeDescription: node is null");
     }
@@ -89,15 +123,16 @@ public class TreeNodesDescription {
     CharSequence disabledState = AccessibilityNodeFeedbackUtils.getDisabledStateText(node, context);
     CharSequence selectedState = AccessibilityNodeFeedbackUtils.getSelectedStateText(node, context);
 
-    LogUtils.v(
-        TAG,
-        "aggregateNodeTreeDescription: %s",
-        new StringBuilder()
-            .append(String.format(" (%s)", node.hashCode()))
-            .append(String.format(", treeDescriptionWithLabel={%s}", treeDescription))
-            .append(String.format(", selectedState=%s", selectedState))
-            .append(String.format(", descriptionOrder=%s", descriptionOrder))
-            .toString());
+    if (LogUtils.shouldLog(Log.VERBOSE)) {
+      LogUtils.v(
+          TAG,
+          "aggregateNodeTreeDescription:  (%s), treeDescriptionWithLabel={%s}, selectedState=%s,"
+              + " descriptionOrder=%s",
+          node.hashCode(),
+          treeDescription,
+          selectedState,
+          descriptionOrder);
+    }
 
     // Disabled state announcement should always be a postfix.
     switch (descriptionOrder) {
@@ -123,14 +158,15 @@ public class TreeNodesDescription {
         AccessibilityNodeFeedbackUtils.getDescriptionFromLabelNode(
             node, context, imageContents, globalVariables);
 
-    LogUtils.v(
-        TAG,
-        "  treeDescriptionWithLabel: %s",
-        new StringBuilder()
-            .append(String.format(", appendedTreeDescription={%s}", appendedTreeDescription))
-            .append(String.format(", labelDescription=%s", labelDescription))
-            .append(String.format(", shouldAppendChildNode=%s", shouldAppendChildNode))
-            .toString());
+    if (LogUtils.shouldLog(Log.VERBOSE)) {
+      LogUtils.v(
+          TAG,
+          "  treeDescriptionWithLabel: , appendedTreeDescription={%s}, labelDescription=%s,"
+              + " shouldAppendChildNode=%s",
+          appendedTreeDescription,
+          labelDescription,
+          shouldAppendChildNode);
+    }
 
     return TextUtils.isEmpty(labelDescription)
         ? appendedTreeDescription
@@ -182,14 +218,17 @@ public class TreeNodesDescription {
     CharSequence tooltip =
         AccessibilityNodeFeedbackUtils.getUniqueTooltipText(node, context, globalVariables);
 
-    LogUtils.v(
-        TAG,
-        StringBuilderUtils.joinFields(
-            String.format("    getAppendedTreeDescription: (%s)  ", node.hashCode()),
-            String.format(", treeDescription={%s} ,", treeDescription),
-            StringBuilderUtils.optionalText("accessibilityNodeError", accessibilityNodeError),
-            StringBuilderUtils.optionalText("accessibilityNodeHint", accessibilityNodeHint),
-            StringBuilderUtils.optionalText("tooltip", tooltip)));
+    if (LogUtils.shouldLog(Log.VERBOSE)) {
+      LogUtils.v(
+          TAG,
+          "%s",
+          StringBuilderUtils.joinFields(
+              String.format("    getAppendedTreeDescription: (%s)  ", node.hashCode()),
+              String.format(", treeDescription={%s} ,", treeDescription),
+              StringBuilderUtils.optionalText("accessibilityNodeError", accessibilityNodeError),
+              StringBuilderUtils.optionalText("accessibilityNodeHint", accessibilityNodeHint),
+              StringBuilderUtils.optionalText("tooltip", tooltip)));
+    }
 
     return CompositorUtils.joinCharSequences(
         treeDescription, accessibilityNodeError, accessibilityNodeHint, tooltip);
@@ -212,16 +251,17 @@ public class TreeNodesDescription {
     boolean srcIsCheckable = node.isCheckable();
     boolean srcIsChecked = node.isChecked();
 
-    LogUtils.v(
-        TAG,
-        "      nodeStatusDescription: %s",
-        new StringBuilder()
-            .append(String.format("role=%s", Role.roleToString(role)))
-            .append(String.format(", collapsedOrExpandedState=%s", collapsedOrExpandedState))
-            .append(String.format(", stateDescriptionIsEmpty=%s", stateDescriptionIsEmpty))
-            .append(String.format(", srcIsCheckable=%b", srcIsCheckable))
-            .append(String.format(", srcIsChecked=%b", srcIsChecked))
-            .toString());
+    if (LogUtils.shouldLog(Log.VERBOSE)) {
+      LogUtils.v(
+          TAG,
+          "      nodeStatusDescription: role=%s, collapsedOrExpandedState=%s,"
+              + " stateDescriptionIsEmpty=%s, srcIsCheckable=%b, srcIsChecked=%b",
+          Role.roleToString(role),
+          collapsedOrExpandedState,
+          stateDescriptionIsEmpty,
+          srcIsCheckable,
+          srcIsChecked);
+    }
 
     // If the node has set stateDescription, node checked state description in tree nodes
     // description text will be redundant for switch and toggle button to be always announced in
@@ -260,12 +300,20 @@ public class TreeNodesDescription {
         TextUtils.isEmpty(
             AccessibilityNodeFeedbackUtils.getNodeContentDescription(
                 node, context, globalVariables.getPreferredLocaleByNode(node)));
-    StringBuilder logString = new StringBuilder();
-    logString
-        .append(String.format(" (%s)", node.hashCode()))
-        .append(String.format(", role=%s", Role.roleToString(role)))
-        .append(String.format(", isContentDescriptionEmpty=%b", isContentDescriptionEmpty))
-        .append(String.format(", shouldAppendChildNode=%b", shouldAppendChildNode));
+    // Only build the log message if it will be printed.
+    @Nullable StringBuilder logString =
+        LogUtils.shouldLog(Log.VERBOSE) ? new StringBuilder() : null;
+    if (logString != null) {
+      logString
+          .append(" (")
+          .append(node.hashCode())
+          .append("), role=")
+          .append(Role.roleToString(role))
+          .append(", isContentDescriptionEmpty=")
+          .append(isContentDescriptionEmpty)
+          .append(", shouldAppendChildNode=")
+          .append(shouldAppendChildNode);
+    }
 
     if (role != Role.ROLE_WEB_VIEW
         && (role == Role.ROLE_GRID
@@ -276,36 +324,51 @@ public class TreeNodesDescription {
       // ascending.
       ReorderedChildrenIterator childIterator =
           ReorderedChildrenIterator.createAscendingIterator(node);
-      if (!childIterator.hasNext()) {
+      if (!childIterator.hasNext() && logString != null) {
         logString.append(", hasNoNextChildNode");
       }
       while (childIterator.hasNext()) {
         AccessibilityNodeInfoCompat childNode = childIterator.next();
         if (childNode == null) {
-          logString.append(
-              String.format("error: sourceNode (%s) has a null child.", node.hashCode()));
+          if (logString != null) {
+            logString
+                .append("error: sourceNode (")
+                .append(node.hashCode())
+                .append(") has a null child.");
+          }
         } else {
           boolean isVisible = AccessibilityNodeInfoUtils.isVisible(childNode);
           boolean isAccessibilityFocusable =
               AccessibilityNodeInfoUtils.isAccessibilityFocusable(childNode);
-          logString
-              .append(String.format("\n        childNode:(%s)", childNode.hashCode()))
-              .append(String.format(", isVisible=%b", isVisible))
-              .append(String.format(", isAccessibilityFocusable=%b", isAccessibilityFocusable));
+          if (logString != null) {
+            logString
+                .append("\n        childNode:(")
+                .append(childNode.hashCode())
+                .append("), isVisible=")
+                .append(isVisible)
+                .append(", isAccessibilityFocusable=")
+                .append(isAccessibilityFocusable);
+          }
 
           if (isVisible && (!isAccessibilityFocusable || shouldAppendChildNode)) {
             // Join the tree description of child node.
             CharSequence description =
                 getAppendedTreeDescription(childNode, event, shouldAppendChildNode);
-            logString.append(
-                String.format("\n        > appendChildNodeDescription= {%s}", description));
+            if (logString != null) {
+              logString
+                  .append("\n        > appendChildNodeDescription= {")
+                  .append(description)
+                  .append('}');
+            }
             joinList.add(description);
           }
         }
       }
     }
 
-    LogUtils.v(TAG, "      treeNodesDescription:  %s", logString.toString());
+    if (logString != null) {
+      LogUtils.v(TAG, "      treeNodesDescription:  %s", logString);
+    }
 
     return CompositorUtils.joinCharSequences(joinList, CompositorUtils.getSeparator(), PRUNE_EMPTY);
   }
@@ -61,9 +61,10 @@ public class EventTypeHoverEnterFeedbackRule {
 
           LogUtils.v(
               TAG,
-              StringBuilderUtils.joinFields(
-                  " ttsOutputRule= eventContentDescriptionOrEventAggregateText, ",
-                  StringBuilderUtils.optionalTag("sourceNodeIsNull", sourceNodeIsNull)));
+              () ->
+                  StringBuilderUtils.joinFields(
+                      " ttsOutputRule= eventContentDescriptionOrEventAggregateText, ",
+                      StringBuilderUtils.optionalTag("sourceNodeIsNull", sourceNodeIsNull)));
 
           return EventFeedback.builder()
               .setTtsOutput(Optional.of(ttsOutput))
@@ -26,6 +26,7 @@ import static com.google.android.accessibility.utils.output.SpeechController.QUE
 
 import android.content.Context;
 import android.text.TextUtils;
+import android.util.Log;
 import android.view.accessibility.AccessibilityEvent;
 import android.view.accessibility.AccessibilityWindowInfo;
 import androidx.annotation.VisibleForTesting;
@@ -125,15 +126,16 @@ public final class EventTypeViewAccessibilityFocusedFeedbackRule {
             processorPhoneticLetters,
             treeNodesDescription);
 
-    LogUtils.v(
-        TAG,
-        " viewAccessibilityFocused: %s,",
-        new StringBuilder()
-            .append(String.format("(%s) ", srcNode.hashCode()))
-            .append(String.format(", ttsOutput={%s}", ttsOutput))
-            .append(String.format(", isInitialFocus=%s", isInitialFocus))
-            .append(String.format(", isEventNavigateByUser=%s", isEventNavigateByUser))
-            .toString());
+    if (LogUtils.shouldLog(Log.VERBOSE)) {
+      LogUtils.v(
+          TAG,
+          " viewAccessibilityFocused: (%s) , ttsOutput={%s}, isInitialFocus=%s,"
+              + " isEventNavigateByUser=%s,",
+          srcNode.hashCode(),
+          ttsOutput,
+          isInitialFocus,
+          isEventNavigateByUser);
+    }
 
     return EventFeedback.builder()
         .setTtsOutput(Optional.of(ttsOutput))
@@ -59,9 +59,10 @@ public final class EventTypeViewFocusedFeedbackRule {
 
           LogUtils.v(
               TAG,
-              StringBuilderUtils.joinFields(
-                  " ttsOutputRule= eventContentDescriptionOrEventAggregateText, ",
-                  StringBuilderUtils.optionalTag("sourceNodeIsNull", sourceNodeIsNull)));
+              () ->
+                  StringBuilderUtils.joinFields(
+                      " ttsOutputRule= eventContentDescriptionOrEventAggregateText, ",
+                      StringBuilderUtils.optionalTag("sourceNodeIsNull", sourceNodeIsNull)));
 
           return EventFeedback.builder()
               .setTtsOutput(Optional.of(ttsOutput))
@@ -48,6 +48,7 @@ import com.google.android.accessibility.utils.AccessibilityNodeInfoUtils;
 import com.google.android.accessibility.utils.AccessibilityServiceCompatUtils;
 import com.google.android.accessibility.utils.BuildVersionUtils;
 import com.google.android.accessibility.utils.FormFactorUtils;
+import com.google.android.accessibility.utils.Logger;
 import com.google.android.accessibility.utils.Performance.EventId;
 import com.google.android.accessibility.utils.Performance.EventIdAnd;
 import com.google.android.accessibility.utils.Role;
@@ -123,6 +124,7 @@ public class AccessibilityEventProcessor implements DisplayStateChangedListener
   private VoiceActionMonitor voiceActionMonitor;
   private RingerModeAndScreenMonitor ringerModeAndScreenMonitor;
   private final DelayedEventHandler handler;
+  private final ContentChangeCoalescer contentChangeCoalescer;
 
   private static Method getSourceNodeIdMethod;
 
@@ -151,6 +153,12 @@ public class AccessibilityEventProcessor implements DisplayStateChangedListener
    */
   private final List<AccessibilityEventListener> accessibilityEventListeners = new ArrayList<>();
 
+  /**
+   * List of listeners which are sent every event as soon as it is received, before content changes
+   * are coalesced or delayed.
+   */
+  private final List<AccessibilityEventListener> uncoalescedEventListeners = new ArrayList<>();
+
   private long lastWindowStateChanged;
   private AccessibilityEvent lastFocusedEvent;
 
@@ -184,6 +192,9 @@ public class AccessibilityEventProcessor implements DisplayStateChangedListener
     this.displayMonitor = displayMonitor;
     initDumpEventMask();
     handler = new DelayedEventHandler(this);
+    contentChangeCoalescer =
+        new ContentChangeCoalescer(
+            this::processCoalescedEvent, AccessibilityEventProcessor::getSourceNodeId);
   }
 
   /** Read dump event configuration from preferences. */
@@ -204,6 +215,7 @@ public class AccessibilityEventProcessor implements DisplayStateChangedListener
 
   public void onSuspendInfrastructure() {
     displayMonitor.removeDisplayStateChangedListener(this);
+    contentChangeCoalescer.clear();
   }
 
   public void setActorState(ActorState actorState) {
@@ -260,10 +272,19 @@ public class AccessibilityEventProcessor implements DisplayStateChangedListener
       lastFocusedEvent = AccessibilityEvent.obtain(event);
     }
 
-    if (AccessibilityEventUtils.eventMatchesAnyType(event, MASK_DELAYED_EVENT_TYPES)) {
-      handler.postProcessEvent(event, eventId);
-    } else {
-      processEvent(event, eventId);
+    for (AccessibilityEventListener listener : uncoalescedEventListeners) {
+      if (AccessibilityEventUtils.eventMatchesAnyType(event, listener.getEventTypes())) {
+        listener.onAccessibilityEvent(event, eventId);
+      }
+    }
+
+    // Content-change storms are coalesced, and held-back events are delivered by the coalescer.
+    if (!contentChangeCoalescer.offer(event, eventId)) {
+      if (AccessibilityEventUtils.eventMatchesAnyType(event, MASK_DELAYED_EVENT_TYPES)) {
+        handler.postProcessEvent(event, eventId);
+      } else {
+        processEvent(event, eventId);
+      }
     }
 
     if (testingListener != null) {
@@ -466,6 +487,27 @@ public class AccessibilityEventProcessor implements DisplayStateChangedListener
     return (touchscreenState == Configuration.TOUCHSCREEN_NOTOUCH) && isTouchInteractionStateChange;
   }
 
+  /** Returns the framework id of the event's source node, or -1 if it is not available. */
+  private static long getSourceNodeId(AccessibilityEvent event) {
+    if (getSourceNodeIdMethod == null) {
+      return -1;
+    }
+    try {
+      return (long) getSourceNodeIdMethod.invoke(event);
+    } catch (Exception e) {
+      LogUtils.d(TAG, "Exception accessing field: " + e.toString());
+      return -1;
+    }
+  }
+
+  /** Processes a content-change event that was held back by the {@link ContentChangeCoalescer}. */
+  private void processCoalescedEvent(AccessibilityEvent event, EventId eventId) {
+    if (!TalkBackService.isServiceActive()) {
+      return;
+    }
+    processEvent(event, eventId);
+  }
+
   /** Helper method for checking if the pip window is both open and focused. */
   @VisibleForTesting
   boolean isPipFocused() {
@@ -580,6 +622,16 @@ public class AccessibilityEventProcessor implements DisplayStateChangedListener
     accessibilityEventListeners.add(listener);
   }
 
+  /**
+   * Adds a listener which is sent events as soon as they are received, even content changes that
+   * are held back by coalescing. This suits caches that must be dropped immediately when the
+   * content changes; listeners that speak or act on events should use {@link
+   * #addAccessibilityEventListener}.
+   */
+  public void addUncoalescedEventListener(AccessibilityEventListener listener) {
+    uncoalescedEventListeners.add(listener);
+  }
+
   public void postRemoveAccessibilityEventListener(final AccessibilityEventListener listener) {
     if (!accessibilityEventListeners.contains(listener)) {
       return;
@@ -594,6 +646,10 @@ public class AccessibilityEventProcessor implements DisplayStateChangedListener
             });
   }
 
+  public void dump(Logger dumpLogger) {
+    contentChangeCoalescer.dump(dumpLogger);
+  }
+
   public void setDumpEventMask(int dumpEventMask) {
     this.dumpEventMask = dumpEventMask;
   }
@@ -0,0 +1,310 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.android.accessibility.talkback.eventprocessor;
+
+import static android.view.accessibility.AccessibilityEvent.CONTENT_CHANGE_TYPE_PANE_APPEARED;
+import static android.view.accessibility.AccessibilityEvent.CONTENT_CHANGE_TYPE_PANE_DISAPPEARED;
+import static android.view.accessibility.AccessibilityEvent.CONTENT_CHANGE_TYPE_PANE_TITLE;
+import static androidx.core.view.ViewCompat.ACCESSIBILITY_LIVE_REGION_NONE;
+
+import android.os.Looper;
+import android.os.Message;
+import android.os.SystemClock;
+import android.view.accessibility.AccessibilityEvent;
+import androidx.annotation.VisibleForTesting;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
+import com.google.android.accessibility.utils.AccessibilityEventUtils;
+import com.google.android.accessibility.utils.Logger;
+import com.google.android.accessibility.utils.Performance.EventId;
+import com.google.android.accessibility.utils.WeakReferenceHandler;
+import com.google.android.libraries.accessibility.utils.log.LogUtils;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import org.checkerframework.checker.initialization.qual.UnderInitialization;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Coalesces storms of {@link AccessibilityEvent#TYPE_WINDOW_CONTENT_CHANGED} events from the same
+ * source before they reach the event interpreters.
+ *
+ * <p>The first content-change event of a source is always delivered immediately, and opens a short
+ * coalescing window for that source. Content-change events with the same source and the same
+ * content-change types which arrive inside the window replace each other, and only the latest one
+ * is delivered when the window closes. If events kept arriving, the next window is longer, up to
+ * {@link #MAX_WINDOW_MS}; once a window passes without events, the source is forgotten.
+ *
+ * <p>Semantics that must not be delayed or merged are preserved:
+ *
+ * <ul>
+ *   <li>Every other event type flushes all pending content changes first, so listeners observe
+ *       content changes and focus events in the order they happened.
+ *   <li>Pane changes and live-region sources are never coalesced.
+ *   <li>Since sealed events can not be modified, events with different content-change types are
+ *       held separately. Each distinct type set is delivered with its latest event.
+ * </ul>
+ */
+class ContentChangeCoalescer {
+
+  private static final String TAG = "ContentChangeCoalescer";
+
+  /** Initial coalescing window after the first event of a source. */
+  @VisibleForTesting static final long MIN_WINDOW_MS = 50;
+
+  /** Upper bound of the coalescing window for a sustained storm. */
+  @VisibleForTesting static final long MAX_WINDOW_MS = 400;
+
+  /** Maximum number of sources with an open coalescing window. */
+  private static final int MAX_OPEN_WINDOWS = 32;
+
+  private static final int PANE_CONTENT_CHANGE_TYPES =
+      CONTENT_CHANGE_TYPE_PANE_TITLE
+          | CONTENT_CHANGE_TYPE_PANE_APPEARED
+          | CONTENT_CHANGE_TYPE_PANE_DISAPPEARED;
+
+  /** Receives the events to process, either immediately or when their window closes. */
+  interface EventDelivery {
+    void deliver(AccessibilityEvent event, EventId eventId);
+  }
+
+  /** Provides the framework id of the event's source node, or -1 if not available. */
+  interface SourceIdProvider {
+    long getSourceNodeId(AccessibilityEvent event);
+  }
+
+  private final EventDelivery delivery;
+  private final SourceIdProvider sourceIdProvider;
+  private final FlushHandler handler;
+
+  /** Open coalescing windows, in order of the most recently coalesced event. */
+  private final LinkedHashMap<SourceKey, Burst> bursts = new LinkedHashMap<>();
+
+  // Counters for the dump.
+  private long receivedCount = 0;
+  private long coalescedCount = 0;
+  private long deliveredCount = 0;
+
+  ContentChangeCoalescer(EventDelivery delivery, SourceIdProvider sourceIdProvider) {
+    this.delivery = delivery;
+    this.sourceIdProvider = sourceIdProvider;
+    handler = new FlushHandler(this);
+  }
+
+  /**
+   * Offers an event to the coalescer. Returns {@code true} if the event was held back, in which
+   * case the caller must not process it; it will be delivered later if it is still the latest
+   * event of its kind. Returns {@code false} if the caller should process the event now.
+   */
+  boolean offer(AccessibilityEvent event, EventId eventId) {
+    if (event.getEventType() != AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED) {
+      // Keep the order of events: pending content changes happened before this event.
+      flushPending();
+      return false;
+    }
+
+    receivedCount++;
+    int changeTypes = event.getContentChangeTypes();
+    long sourceNodeId = sourceIdProvider.getSourceNodeId(event);
+    if (sourceNodeId == -1 || (changeTypes & PANE_CONTENT_CHANGE_TYPES) != 0) {
+      deliveredCount++;
+      return false;
+    }
+
+    SourceKey key = new SourceKey(event.getWindowId(), sourceNodeId, changeTypes);
+    long now = SystemClock.uptimeMillis();
+    @Nullable Burst burst = bursts.get(key);
+    if (burst == null) {
+      // Leading event of a burst; deliver it now and open a window for followers.
+      if (bursts.size() < MAX_OPEN_WINDOWS) {
+        bursts.put(key, new Burst(now + MIN_WINDOW_MS));
+        scheduleFlush();
+      }
+      deliveredCount++;
+      return false;
+    }
+
+    if (!burst.liveRegionChecked) {
+      // Fetching the source is an IPC, so it is only done once a burst has an event to hold.
+      burst.coalescable = !isLiveRegion(event);
+      burst.liveRegionChecked = true;
+    }
+    if (!burst.coalescable) {
+      deliveredCount++;
+      return false;
+    }
+
+    if (burst.pendingEvent != null) {
+      // The held event is superseded by this one.
+      coalescedCount++;
+    }
+    burst.pendingEvent = AccessibilityEvent.obtain(event);
+    burst.pendingEventId = eventId;
+    // Move the burst to the end, so pending events are flushed in the order they last changed.
+    bursts.remove(key);
+    bursts.put(key, burst);
+    return true;
+  }
+
+  /** Drops all pending events and open windows, without delivering them. */
+  void clear() {
+    handler.removeMessages(FlushHandler.MSG_FLUSH);
+    bursts.clear();
+  }
+
+  public void dump(Logger dumpLogger) {
+    dumpLogger.log("Content-change coalescing");
+    dumpLogger.log(
+        " received=%d, coalesced=%d, delivered=%d, openWindows=%d",
+        receivedCount, coalescedCount, deliveredCount, bursts.size());
+    dumpLogger.log("");
+  }
+
+  /** Delivers all pending events, keeping the windows open. */
+  private void flushPending() {
+    if (bursts.isEmpty()) {
+      return;
+    }
+    List<Burst> pending = new ArrayList<>();
+    for (Burst burst : bursts.values()) {
+      if (burst.pendingEvent != null) {
+        pending.add(burst);
+      }
+    }
+    for (Burst burst : pending) {
+      deliverPending(burst);
+    }
+  }
+
+  /** Delivers the pending events of expired windows, and extends or closes those windows. */
+  private void onWindowsExpired() {
+    long now = SystemClock.uptimeMillis();
+    List<Burst> expired = new ArrayList<>();
+    Iterator<Burst> iterator = bursts.values().iterator();
+    while (iterator.hasNext()) {
+      Burst burst = iterator.next();
+      if (burst.deadline > now) {
+        continue;
+      }
+      if (burst.pendingEvent == null) {
+        // The storm is over.
+        iterator.remove();
+      } else {
+        // The storm continues; widen the next window.
+        burst.windowMs = Math.min(burst.windowMs * 2, MAX_WINDOW_MS);
+        burst.deadline = now + burst.windowMs;
+        expired.add(burst);
+      }
+    }
+    for (Burst burst : expired) {
+      deliverPending(burst);
+    }
+    scheduleFlush();
+  }
+
+  private void deliverPending(Burst burst) {
+    AccessibilityEvent event = burst.pendingEvent;
+    EventId eventId = burst.pendingEventId;
+    burst.pendingEvent = null;
+    burst.pendingEventId = null;
+    if (event == null) {
+      return;
+    }
+    deliveredCount++;
+    LogUtils.v(TAG, "Deliver coalesced content change: %s", event);
+    delivery.deliver(event, eventId);
+  }
+
+  private void scheduleFlush() {
+    handler.removeMessages(FlushHandler.MSG_FLUSH);
+    if (bursts.isEmpty()) {
+      return;
+    }
+    long earliestDeadline = Long.MAX_VALUE;
+    for (Burst burst : bursts.values()) {
+      earliestDeadline = Math.min(earliestDeadline, burst.deadline);
+    }
+    handler.sendEmptyMessageAtTime(FlushHandler.MSG_FLUSH, earliestDeadline);
+  }
+
+  private static boolean isLiveRegion(AccessibilityEvent event) {
+    @Nullable AccessibilityNodeInfoCompat source = AccessibilityEventUtils.sourceCompat(event);
+    return (source != null) && (source.getLiveRegion() != ACCESSIBILITY_LIVE_REGION_NONE);
+  }
+
+  /** Coalescing state of one source and content-change type set. */
+  private static class Burst {
+    boolean liveRegionChecked = false;
+    boolean coalescable = true;
+    long deadline;
+    long windowMs = MIN_WINDOW_MS;
+    @Nullable AccessibilityEvent pendingEvent;
+    @Nullable EventId pendingEventId;
+
+    Burst(long deadline) {
+      this.deadline = deadline;
+    }
+  }
+
+  /** Identifies the events that may replace each other. */
+  private static class SourceKey {
+    private final int windowId;
+    private final long sourceNodeId;
+    private final int changeTypes;
+
+    SourceKey(int windowId, long sourceNodeId, int changeTypes) {
+      this.windowId = windowId;
+      this.sourceNodeId = sourceNodeId;
+      this.changeTypes = changeTypes;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof SourceKey)) {
+        return false;
+      }
+      SourceKey that = (SourceKey) o;
+      return (windowId == that.windowId)
+          && (sourceNodeId == that.sourceNodeId)
+          && (changeTypes == that.changeTypes);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(windowId, sourceNodeId, changeTypes);
+    }
+  }
+
+  private static class FlushHandler extends WeakReferenceHandler<ContentChangeCoalescer> {
+    private static final int MSG_FLUSH = 1;
+
+    FlushHandler(@UnderInitialization ContentChangeCoalescer parent) {
+      super(parent, Looper.myLooper());
+    }
+
+    @Override
+    protected void handleMessage(Message msg, ContentChangeCoalescer parent) {
+      if (msg.what == MSG_FLUSH) {
+        parent.onWindowsExpired();
+      }
+    }
+  }
+}
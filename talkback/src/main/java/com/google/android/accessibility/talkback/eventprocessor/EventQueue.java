@@ -20,8 +20,7 @@ import android.util.SparseIntArray;
 import android.view.accessibility.AccessibilityEvent;
 import androidx.core.view.accessibility.AccessibilityEventCompat;
 import com.google.android.accessibility.utils.AccessibilityEventUtils;
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 
 /**
  * This class is a queue that tracks events that TalkBack will process. This queue self-prunes
@@ -44,8 +43,20 @@ class EventQueue {
           | AccessibilityEventCompat.TYPE_VIEW_ACCESSIBILITY_FOCUSED
           | AccessibilityEventCompat.TYPE_VIEW_SCROLLED;
 
-  /** The list responsible for maintaining events in the event queue. */
-  private final ArrayList<AccessibilityEvent> eventQueue = new ArrayList<>();
+  /** Initial capacity of the ring buffer, which doubles whenever it is full. */
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * Ring buffer holding the events in the event queue. The oldest event is at {@code head}, and
+   * unused slots are {@code null}.
+   */
+  private AccessibilityEvent[] eventQueue = new AccessibilityEvent[INITIAL_CAPACITY];
+
+  /** Index of the oldest event in {@code eventQueue}. */
+  private int head = 0;
+
+  /** Number of events in {@code eventQueue}. */
+  private int size = 0;
 
   /**
    * The current number of events in the queue for each event type that match a type defined in
@@ -62,15 +73,22 @@ class EventQueue {
    */
   public void enqueue(AccessibilityEvent event) {
     final AccessibilityEvent clone = AccessibilityEvent.obtain(event);
-    final int eventType = clone.getEventType();
 
-    if (AccessibilityEventUtils.eventMatchesAnyType(clone, MASK_LIMITED_EVENT_TYPES)) {
-      final int eventCountOfType = qualifyingEvents.get(eventType, 0);
-      qualifyingEvents.put(eventType, (eventCountOfType + 1));
+    if (size == eventQueue.length) {
+      grow();
     }
+    eventQueue[slot(size)] = clone;
+    size++;
 
-    eventQueue.add(clone);
-    enforceEventLimits();
+    if (AccessibilityEventUtils.eventMatchesAnyType(clone, MASK_LIMITED_EVENT_TYPES)) {
+      final int eventType = clone.getEventType();
+      final int eventCountOfType = qualifyingEvents.get(eventType, 0) + 1;
+      qualifyingEvents.put(eventType, eventCountOfType);
+      // Only the type of the new event can have exceeded its limit.
+      if (eventCountOfType > MAXIMUM_QUALIFYING_EVENTS) {
+        pruneOldestEventOfType(eventType);
+      }
+    }
   }
 
   /**
@@ -79,11 +97,14 @@ class EventQueue {
    * @return The event at the front of the queue.
    */
   public AccessibilityEvent dequeue() {
-    if (eventQueue.isEmpty()) {
+    if (size == 0) {
       return null;
     }
 
-    final AccessibilityEvent event = eventQueue.remove(0);
+    final AccessibilityEvent event = eventQueue[head];
+    eventQueue[head] = null;
+    head = slot(1);
+    size--;
 
     if (event != null
         && AccessibilityEventUtils.eventMatchesAnyType(event, MASK_LIMITED_EVENT_TYPES)) {
@@ -96,7 +117,9 @@ class EventQueue {
 
   /** Clears the event queue and discards all events waiting for processing. */
   public void clear() {
-    eventQueue.clear();
+    Arrays.fill(eventQueue, null);
+    head = 0;
+    size = 0;
     qualifyingEvents.clear();
   }
 
@@ -106,43 +129,41 @@ class EventQueue {
    * @return {@code true} if the queue is empty, {@code false} otherwise
    */
   public boolean isEmpty() {
-    return eventQueue.isEmpty();
+    return size == 0;
   }
 
   /**
-   * Enforces that the event queue has no more than {@code MAXIMUM_QUALIFYING_EVENTS} events of each
-   * type defined by {@code MASK_LIMITED_EVENT_TYPES}. The excessive events are pruned by removing
-   * the oldest event first.
+   * Removes the oldest event of {@code eventType}, which keeps the queue at no more than {@code
+   * MAXIMUM_QUALIFYING_EVENTS} events of each type defined by {@code MASK_LIMITED_EVENT_TYPES}.
+   * The events in front of the pruned one are moved back by one slot, so the order is kept.
    */
-  private void enforceEventLimits() {
-    int eventTypesToPrune = 0;
-    // Locate event types which exceed the allowable limit
-    for (int i = 0; i < qualifyingEvents.size(); i++) {
-      final int eventType = qualifyingEvents.keyAt(i);
-      final int eventsOfType = qualifyingEvents.valueAt(i);
-      if (eventsOfType > MAXIMUM_QUALIFYING_EVENTS) {
-        eventTypesToPrune |= eventType;
+  private void pruneOldestEventOfType(int eventType) {
+    for (int i = 0; i < size; i++) {
+      if (eventQueue[slot(i)].getEventType() == eventType) {
+        for (int j = i; j > 0; j--) {
+          eventQueue[slot(j)] = eventQueue[slot(j - 1)];
+        }
+        eventQueue[head] = null;
+        head = slot(1);
+        size--;
+        qualifyingEvents.put(eventType, qualifyingEvents.get(eventType, 0) - 1);
+        return;
       }
     }
+  }
 
-    final Iterator<AccessibilityEvent> iterator = eventQueue.iterator();
-    while (iterator.hasNext() && (eventTypesToPrune != 0)) {
-      final AccessibilityEvent next = iterator.next();
-
-      // Prune offending events
-      if (AccessibilityEventUtils.eventMatchesAnyType(next, eventTypesToPrune)) {
-        final int eventType = next.getEventType();
-        int eventCountOfType = qualifyingEvents.get(eventType, 0);
-        eventCountOfType--;
-        qualifyingEvents.put(eventType, eventCountOfType);
-        iterator.remove();
-
-        // Stop pruning further events of this type if the number of
-        // events is below the limit
-        if (eventCountOfType <= MAXIMUM_QUALIFYING_EVENTS) {
-          eventTypesToPrune &= ~eventType;
-        }
-      }
+  /** Doubles the capacity of the ring buffer, moving the oldest event to index 0. */
+  private void grow() {
+    AccessibilityEvent[] grown = new AccessibilityEvent[eventQueue.length * 2];
+    for (int i = 0; i < size; i++) {
+      grown[i] = eventQueue[slot(i)];
     }
+    eventQueue = grown;
+    head = 0;
+  }
+
+  /** Returns the index in the ring buffer of the event at {@code offset} from the head. */
+  private int slot(int offset) {
+    return (head + offset) % eventQueue.length;
   }
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.android.accessibility.talkback.eventprocessor;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import android.content.res.Resources;
+import androidx.annotation.RawRes;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.libraries.accessibility.utils.log.LogUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Locale-indexed view of the phonetic letters resource.
+ *
+ * <p>The resource is a single JSON object mapping locale -> letter -> phonetic letter, which is
+ * several megabytes for all locales. Rather than parsing the whole document for every locale, the
+ * resource is scanned once to build an index of locale -> byte range, and only the byte range of a
+ * requested locale is decoded. Decoded tables are cached, and this class is safe to call from
+ * multiple threads so tables can be preloaded in the background.
+ */
+final class PhoneticLetterTable {
+
+  private static final String TAG = "PhoneticLetterTable";
+
+  private static final int READ_BUFFER_SIZE = 16 * 1024;
+
+  private final Resources resources;
+  private final @RawRes int resId;
+
+  /** Locale -> {offset, length} of the locale's JSON object in the resource. */
+  private volatile @Nullable Map<String, long[]> index;
+
+  /** Locale -> letter -> phonetic letter, for locales that have been decoded. */
+  private final Map<String, Map<String, String>> tables = new ConcurrentHashMap<>();
+
+  PhoneticLetterTable(Resources resources, @RawRes int resId) {
+    this.resources = resources;
+    this.resId = resId;
+  }
+
+  /**
+   * Returns the mapping from letter to phonetic letter for {@code locale}, decoding it if needed.
+   * Returns an empty map if the locale is not present in the resource.
+   */
+  Map<String, String> getLetters(String locale) {
+    Map<String, String> letters = tables.get(locale);
+    if (letters == null) {
+      letters = tables.computeIfAbsent(locale, this::decodeLocale);
+    }
+    return letters;
+  }
+
+  private Map<String, String> decodeLocale(String locale) {
+    long[] range = getIndex().get(locale);
+    if (range == null) {
+      // If there is no entry for the locale, the map will be left empty. This prevents future load
+      // attempts for that locale.
+      return Collections.emptyMap();
+    }
+
+    long startTime = System.currentTimeMillis();
+    Map<String, String> map = new HashMap<>();
+    try (InputStream stream = resources.openRawResource(resId)) {
+      skipFully(stream, range[0]);
+      byte[] bytes = new byte[(int) range[1]];
+      readFully(stream, bytes);
+      JSONObject phoneticLetters = new JSONObject(new String(bytes, UTF_8));
+      Iterator<String> keys = phoneticLetters.keys();
+      while (keys.hasNext()) {
+        String letter = keys.next();
+        map.put(letter, phoneticLetters.getString(letter));
+      }
+    } catch (IOException | JSONException e) {
+      LogUtils.e(TAG, "Failed to decode phonetic letters for %s: %s", locale, e);
+    }
+    LogUtils.v(
+        TAG,
+        "Decoded %d phonetic letters for %s in %d ms",
+        map.size(),
+        locale,
+        System.currentTimeMillis() - startTime);
+    return map;
+  }
+
+  private Map<String, long[]> getIndex() {
+    Map<String, long[]> result = index;
+    if (result == null) {
+      synchronized (this) {
+        result = index;
+        if (result == null) {
+          result = buildIndex();
+          index = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  private Map<String, long[]> buildIndex() {
+    long startTime = System.currentTimeMillis();
+    Map<String, long[]> result;
+    try (InputStream stream = resources.openRawResource(resId)) {
+      result = buildIndex(stream);
+    } catch (IOException e) {
+      LogUtils.e(TAG, "Failed to index phonetic letters: %s", e);
+      result = Collections.emptyMap();
+    }
+    LogUtils.v(
+        TAG,
+        "Indexed %d phonetic letter locales in %d ms",
+        result.size(),
+        System.currentTimeMillis() - startTime);
+    return result;
+  }
+
+  /**
+   * Scans a JSON document of the form {@code {"locale": {...}, ...}} and returns the byte offset
+   * and length of every top-level object value, keyed by its name. JSON structural characters are
+   * all ASCII, so the UTF-8 bytes can be scanned without decoding them.
+   */
+  @VisibleForTesting
+  static Map<String, long[]> buildIndex(InputStream stream) throws IOException {
+    Map<String, long[]> result = new HashMap<>();
+    byte[] buffer = new byte[READ_BUFFER_SIZE];
+    // Accumulates the bytes of the current top-level key.
+    ByteArrayOutputStream key = new ByteArrayOutputStream();
+    @Nullable String lastKey = null;
+    long position = 0;
+    long valueStart = -1;
+    int depth = 0;
+    boolean inString = false;
+    boolean escaped = false;
+
+    int count;
+    while ((count = stream.read(buffer)) != -1) {
+      for (int i = 0; i < count; i++, position++) {
+        byte b = buffer[i];
+        if (inString) {
+          if (escaped) {
+            escaped = false;
+          } else if (b == '\\') {
+            escaped = true;
+          } else if (b == '"') {
+            inString = false;
+            if (depth == 1) {
+              lastKey = key.toString("UTF-8");
+            }
+            continue;
+          }
+          if (depth == 1) {
+            key.write(b);
+          }
+          continue;
+        }
+        switch (b) {
+          case '"':
+            inString = true;
+            key.reset();
+            break;
+          case '{':
+            if (depth == 1) {
+              valueStart = position;
+            }
+            depth++;
+            break;
+          case '}':
+            depth--;
+            if (depth == 1 && lastKey != null && valueStart >= 0) {
+              result.put(lastKey, new long[] {valueStart, position + 1 - valueStart});
+              lastKey = null;
+              valueStart = -1;
+            }
+            break;
+          default:
+            break;
+        }
+      }
+    }
+    return result;
+  }
+
+  private static void skipFully(InputStream stream, long count) throws IOException {
+    while (count > 0) {
+      long skipped = stream.skip(count);
+      if (skipped <= 0) {
+        if (stream.read() == -1) {
+          throw new IOException("Unexpected end of stream");
+        }
+        skipped = 1;
+      }
+      count -= skipped;
+    }
+  }
+
+  private static void readFully(InputStream stream, byte[] bytes) throws IOException {
+    int offset = 0;
+    while (offset < bytes.length) {
+      int read = stream.read(bytes, offset, bytes.length - offset);
+      if (read == -1) {
+        throw new IOException("Unexpected end of stream");
+      }
+      offset += read;
+    }
+  }
+}
@@ -18,8 +18,8 @@ package com.google.android.accessibility.talkback.eventprocessor;
 
 import static androidx.core.view.accessibility.AccessibilityWindowInfoCompat.TYPE_INPUT_METHOD;
 import static com.google.android.accessibility.talkback.Feedback.HINT;
-import static java.nio.charset.StandardCharsets.UTF_8;
 
+import android.content.Context;
 import android.content.SharedPreferences;
 import android.content.res.Resources;
 import android.text.Spannable;
@@ -29,6 +29,9 @@ import android.text.style.LocaleSpan;
 import android.view.accessibility.AccessibilityEvent;
 import android.view.accessibility.AccessibilityNodeInfo;
 import android.view.accessibility.AccessibilityWindowInfo;
+import android.view.inputmethod.InputMethodInfo;
+import android.view.inputmethod.InputMethodManager;
+import android.view.inputmethod.InputMethodSubtype;
 import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
 import com.google.android.accessibility.talkback.Feedback;
 import com.google.android.accessibility.talkback.Pipeline;
@@ -48,18 +51,13 @@ import com.google.android.accessibility.utils.SharedPreferencesUtils;
 import com.google.android.accessibility.utils.output.FeedbackItem;
 import com.google.android.accessibility.utils.output.SpeechController;
 import com.google.android.accessibility.utils.output.SpeechController.SpeakOptions;
-import com.google.android.libraries.accessibility.utils.log.LogUtils;
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.HashMap;
-import java.util.Iterator;
+import com.google.android.libraries.accessibility.utils.concurrent.TaskScheduler;
+import java.util.LinkedHashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.checkerframework.checker.nullness.qual.Nullable;
-import org.json.JSONException;
-import org.json.JSONObject;
 
 /**
  * Manages phonetic letters. If the user waits on a key or selected character, the word from the
@@ -105,7 +103,10 @@ public class ProcessorPhoneticLetters implements AccessibilityEventListener {
   private Pipeline.FeedbackReturner pipeline;
 
   // Maps Language -> letter -> Phonetic letter.
-  private final Map<String, Map<String, String>> phoneticLetters = new HashMap<>();
+  private final PhoneticLetterTable phoneticLetters;
+
+  /** Key of the background task which decodes the phonetic letter tables of likely locales. */
+  private static final String PRELOAD_TASK_KEY = "ProcessorPhoneticLetters.preload";
 
   private final GlobalVariables globalVariables;
 
@@ -113,6 +114,7 @@ public class ProcessorPhoneticLetters implements AccessibilityEventListener {
     prefs = SharedPreferencesUtils.getSharedPreferences(service);
     this.service = service;
     this.globalVariables = globalVariables;
+    phoneticLetters = new PhoneticLetterTable(service.getResources(), R.raw.phonetic_letters);
   }
 
   public void setPipeline(Pipeline.FeedbackReturner pipeline) {
@@ -284,42 +286,57 @@ public class ProcessorPhoneticLetters implements AccessibilityEventListener {
    * Get the mapping from letter to phonetic letter for a given locale. The map is loaded as needed.
    */
   private Map<String, String> getPhoneticLetterMap(String locale) {
-    Map<String, String> map = this.phoneticLetters.get(locale);
-    if (map == null) {
-      // If there is no entry for the local, the map will be left
-      // empty.  This prevents future load attempts for that locale.
-      map = new HashMap<String, String>();
-      this.phoneticLetters.put(locale, map);
-
-      InputStream stream = service.getResources().openRawResource(R.raw.phonetic_letters);
-      BufferedReader reader = null;
-      try {
-        reader = new BufferedReader(new InputStreamReader(stream, UTF_8));
-        StringBuilder stringBuilder = new StringBuilder();
-        String input;
-        while ((input = reader.readLine()) != null) {
-          stringBuilder.append(input);
-        }
-        stream.close();
-        reader.close();
-
-        JSONObject locales = new JSONObject(stringBuilder.toString());
-        JSONObject phoneticLetters = locales.getJSONObject(locale);
-
-        if (phoneticLetters != null) {
-          Iterator<?> keys = phoneticLetters.keys();
-          while (keys.hasNext()) {
-            String letter = (String) keys.next();
-            map.put(letter, phoneticLetters.getString(letter));
-          }
-        }
-      } catch (java.io.IOException e) {
-        LogUtils.e(TAG, e.toString());
-      } catch (JSONException e) {
-        LogUtils.e(TAG, e.toString());
-      }
+    return phoneticLetters.getLetters(locale);
+  }
+
+  /**
+   * Decodes the phonetic letter tables of the system locale and of the enabled keyboard subtypes
+   * on the background lane, so that the first keyboard exploration does not pay for it.
+   */
+  public void preloadKeyboardLocales() {
+    TaskScheduler.getInstance()
+        .executeLatest(
+            PRELOAD_TASK_KEY,
+            () -> {
+              Set<String> locales = new LinkedHashSet<>();
+              locales.add(Locale.getDefault().toLanguageTag());
+              locales.add(FALLBACK_LOCALE);
+              InputMethodManager inputMethodManager =
+                  (InputMethodManager) service.getSystemService(Context.INPUT_METHOD_SERVICE);
+              if (inputMethodManager != null) {
+                for (InputMethodInfo inputMethod : inputMethodManager.getEnabledInputMethodList()) {
+                  for (InputMethodSubtype subtype :
+                      inputMethodManager.getEnabledInputMethodSubtypeList(
+                          inputMethod, /* allowsImplicitlySelectedSubtypes= */ true)) {
+                    String languageTag = subtype.getLanguageTag();
+                    if (!TextUtils.isEmpty(languageTag)) {
+                      locales.add(languageTag);
+                    }
+                  }
+                }
+              }
+              for (String locale : locales) {
+                preloadLocale(locale);
+              }
+            });
+  }
+
+  /**
+   * Decodes the table of {@code locale} and of the fallbacks used by {@link #getPhoneticLetter}.
+   */
+  private void preloadLocale(String locale) {
+    if (!getPhoneticLetterMap(locale).isEmpty()) {
+      return;
     }
-    return map;
+    Locale parsedLocale = LocaleUtils.parseLocaleString(locale);
+    if (parsedLocale != null && !parsedLocale.getCountry().isEmpty()) {
+      getPhoneticLetterMap(parsedLocale.getLanguage());
+    }
+  }
+
+  /** Stops any pending preloading of phonetic letter tables. */
+  public void shutdown() {
+    TaskScheduler.getInstance().cancelLatest(PRELOAD_TASK_KEY);
   }
 
   /** Returns true if a pending phonetic letter should be interrupted. */
@@ -46,6 +46,7 @@ import android.graphics.Point;
 import android.graphics.Rect;
 import android.os.Bundle;
 import android.text.TextUtils;
+import android.util.Log;
 import android.util.Pair;
 import android.view.accessibility.AccessibilityNodeInfo;
 import android.view.accessibility.AccessibilityWindowInfo;
@@ -163,6 +164,9 @@ public class FocusProcessorForLogicalNavigation {
 
   private final FormFactorUtils formFactorUtils = FormFactorUtils.getInstance();
 
+  /** Reuses the traversal order of a window across navigation steps. */
+  private final TraversalStrategyCache traversalStrategyCache;
+
   ///////////////////////////////////////////////////////////////////////////////////////////////
   // Construction
 
@@ -171,12 +175,14 @@ public class FocusProcessorForLogicalNavigation {
       FocusFinder focusFinder,
       AccessibilityFocusMonitor accessibilityFocusMonitor,
       ScreenStateMonitor.State screenState,
-      UniversalSearchActor.State searchState) {
+      UniversalSearchActor.State searchState,
+      TraversalStrategyCache traversalStrategyCache) {
     this.service = service;
     this.focusFinder = focusFinder;
     this.accessibilityFocusMonitor = accessibilityFocusMonitor;
     this.screenState = screenState;
     this.searchState = searchState;
+    this.traversalStrategyCache = traversalStrategyCache;
     isWindowNavigationSupported = !formFactorUtils.isAndroidTv();
     filterWindowForWindowNavigation = new WindowNavigationFilter(service, searchState);
   }
@@ -625,10 +631,12 @@ public class FocusProcessorForLogicalNavigation {
                     !Objects.equals(containerOld, currentContainer(n))
                         && AccessibilityNodeInfoUtils.shouldFocusNode(
                             n, traversalStrategy.getSpeakingNodesCache())));
-    LogUtils.v(
-        TAG,
-        "FocusProcessorForLogicalNavigation.findContainerTarget() target container=%s",
-        currentContainer(target));
+    if (LogUtils.shouldLog(Log.VERBOSE)) {
+      LogUtils.v(
+          TAG,
+          "FocusProcessorForLogicalNavigation.findContainerTarget() target container=%s",
+          currentContainer(target));
+    }
     return target;
   }
 
@@ -674,14 +682,16 @@ public class FocusProcessorForLogicalNavigation {
               setAccessibilityFocusInternal(stealWindowNavigationTarget, navigationAction, eventId);
         }
       }
-      LogUtils.d(
-          TAG,
-          "Try to steal focus with target=%s, steal direction=%s, NavigationAction direction=%s,"
-              + " stoleFocus=%b ",
-          stealWindowNavigationTarget,
-          TraversalStrategyUtils.directionToString(stealWindowNavigationTargetDirection),
-          TraversalStrategyUtils.directionToString(navigationAction.searchDirection),
-          stoleFocus);
+      if (LogUtils.shouldLog(Log.DEBUG)) {
+        LogUtils.d(
+            TAG,
+            "Try to steal focus with target=%s, steal direction=%s, NavigationAction direction=%s,"
+                + " stoleFocus=%b ",
+            stealWindowNavigationTarget,
+            TraversalStrategyUtils.directionToString(stealWindowNavigationTargetDirection),
+            TraversalStrategyUtils.directionToString(navigationAction.searchDirection),
+            stoleFocus);
+      }
 
       stealWindowNavigationTarget = null;
       stealWindowNavigationTargetDirection = TraversalStrategy.SEARCH_FOCUS_UNKNOWN;
@@ -833,7 +843,7 @@ public class FocusProcessorForLogicalNavigation {
     }
 
     TraversalStrategy traversalStrategy =
-        TraversalStrategyUtils.getTraversalStrategy(rootNode, focusFinder, searchDirection);
+        traversalStrategyCache.get(rootNode, pivot, focusFinder, searchDirection);
 
     Filter<AccessibilityNodeInfoCompat> nodeFilter =
         NavigationTarget.createNodeFilter(
@@ -1214,7 +1224,7 @@ public class FocusProcessorForLogicalNavigation {
                 windowTraversal, isScreenRtl, currentWindow, searchDirection, windowFilter))) {
       reachEdge = true;
       announceNativeElement(logicalDirection, navigationAction.targetType, eventId);
-      LogUtils.v(TAG, "Reach edge before searchTargetInNextOrPreviousWindow in:" + currentWindow);
+      LogUtils.v(TAG, "Reach edge before searchTargetInNextOrPreviousWindow in:%s", currentWindow);
       return NavigationResult.create(NavigationResult.Type.REACH_EDGE);
     }
 
@@ -1508,7 +1518,7 @@ public class FocusProcessorForLogicalNavigation {
       if (!reachEdge
           && needPauseWhenTraverseAcrossWindow(
               windowTraversal, isScreenRtl, targetWindow, direction, windowFilter)) {
-        LogUtils.v(TAG, "Reach edge while searchTargetInNextOrPreviousWindow in:" + targetWindow);
+        LogUtils.v(TAG, "Reach edge while searchTargetInNextOrPreviousWindow in:%s", targetWindow);
         reachEdge = true;
         return null;
       }
@@ -2474,10 +2484,9 @@ public class FocusProcessorForLogicalNavigation {
 
       LogUtils.d(
           TAG,
-          "AutoScrollCallback onAutoScrolled, eventId="
-              + eventId
-              + ",navigationAction="
-              + navigationAction);
+          "AutoScrollCallback onAutoScrolled, eventId=%s,navigationAction=%s",
+          eventId,
+          navigationAction);
 
       switch (sourceAction.actionType) {
         case NavigationAction.DIRECTIONAL_NAVIGATION:
@@ -2515,10 +2524,9 @@ public class FocusProcessorForLogicalNavigation {
     public void onAutoScrollFailed(@NonNull AccessibilityNodeInfoCompat nodeToScroll) {
       LogUtils.d(
           TAG,
-          "AutoScrollCallback onAutoScrollFailed, assumeScrollSuccess="
-              + assumeScrollSuccess
-              + ",actionType="
-              + NavigationAction.actionTypeToString(sourceAction.actionType));
+          "AutoScrollCallback onAutoScrollFailed, assumeScrollSuccess=%b,actionType=%s",
+          assumeScrollSuccess,
+          NavigationAction.actionTypeToString(sourceAction.actionType));
 
       if (assumeScrollSuccess) {
         onAutoScrolled(
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.android.accessibility.talkback.focusmanagement;
+
+import static com.google.android.accessibility.utils.traversal.TraversalStrategy.SEARCH_FOCUS_BACKWARD;
+import static com.google.android.accessibility.utils.traversal.TraversalStrategy.SEARCH_FOCUS_FORWARD;
+
+import android.os.SystemClock;
+import android.view.accessibility.AccessibilityEvent;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
+import com.google.android.accessibility.utils.AccessibilityEventListener;
+import com.google.android.accessibility.utils.FocusFinder;
+import com.google.android.accessibility.utils.Logger;
+import com.google.android.accessibility.utils.Performance.EventId;
+import com.google.android.accessibility.utils.traversal.OrderedTraversalStrategy;
+import com.google.android.accessibility.utils.traversal.TraversalStrategy;
+import com.google.android.accessibility.utils.traversal.TraversalStrategy.SearchDirection;
+import com.google.android.accessibility.utils.traversal.TraversalStrategyUtils;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Keeps the ordered traversal of the last navigated window, so that repeated forward and backward
+ * navigation in the same window, for example jumping from heading to heading, does not rebuild the
+ * traversal order of the whole window for every step.
+ *
+ * <p>The traversal is only reused while nothing in its window changed, and only if it contains the
+ * pivot of the navigation. Any content, window, scroll or text change drops it.
+ *
+ * <p>This class must be used on the main thread.
+ */
+public class TraversalStrategyCache implements AccessibilityEventListener {
+
+  private static final int INVALIDATING_EVENT_TYPES =
+      AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED
+          | AccessibilityEvent.TYPE_WINDOW_STATE_CHANGED
+          | AccessibilityEvent.TYPE_WINDOWS_CHANGED
+          | AccessibilityEvent.TYPE_VIEW_SCROLLED
+          | AccessibilityEvent.TYPE_VIEW_TEXT_CHANGED;
+
+  private @Nullable AccessibilityNodeInfoCompat cachedRoot;
+  private @Nullable OrderedTraversalStrategy cachedStrategy;
+
+  // Counters for the dump.
+  private long hitCount = 0;
+  private long buildCount = 0;
+  private long buildTimeMs = 0;
+  private long invalidationCount = 0;
+
+  /**
+   * Returns the traversal strategy of {@code root} for {@code direction}. Ordered traversals are
+   * reused while the window is unchanged and they contain {@code pivot}; directional traversals
+   * depend on the pivot position, so they are always created.
+   */
+  public TraversalStrategy get(
+      AccessibilityNodeInfoCompat root,
+      AccessibilityNodeInfoCompat pivot,
+      FocusFinder focusFinder,
+      @SearchDirection int direction) {
+    if ((direction != SEARCH_FOCUS_FORWARD) && (direction != SEARCH_FOCUS_BACKWARD)) {
+      return TraversalStrategyUtils.getTraversalStrategy(root, focusFinder, direction);
+    }
+    if ((cachedStrategy != null) && root.equals(cachedRoot) && cachedStrategy.contains(pivot)) {
+      hitCount++;
+      return cachedStrategy;
+    }
+    long startMs = SystemClock.uptimeMillis();
+    OrderedTraversalStrategy strategy = new OrderedTraversalStrategy(root);
+    buildTimeMs += SystemClock.uptimeMillis() - startMs;
+    buildCount++;
+    cachedRoot = AccessibilityNodeInfoCompat.obtain(root);
+    cachedStrategy = strategy;
+    return strategy;
+  }
+
+  /** Drops the cached traversal. */
+  public void clear() {
+    cachedRoot = null;
+    cachedStrategy = null;
+  }
+
+  @Override
+  public int getEventTypes() {
+    return INVALIDATING_EVENT_TYPES;
+  }
+
+  @Override
+  public void onAccessibilityEvent(AccessibilityEvent event, @Nullable EventId eventId) {
+    if (cachedRoot == null) {
+      return;
+    }
+    int windowId = event.getWindowId();
+    if ((windowId == -1) || (windowId == cachedRoot.getWindowId())) {
+      invalidationCount++;
+      clear();
+    }
+  }
+
+  public void dump(Logger dumpLogger) {
+    long lookups = hitCount + buildCount;
+    dumpLogger.log("Traversal strategy cache");
+    dumpLogger.log(
+        " cached=%b, hits=%d, builds=%d, hitRate=%d%%",
+        cachedStrategy != null,
+        hitCount,
+        buildCount,
+        (lookups == 0) ? 0 : (hitCount * 100 / lookups));
+    dumpLogger.log(
+        " buildTime=%d ms, averageBuildTime=%d ms, invalidations=%d",
+        buildTimeMs, (buildCount == 0) ? 0 : (buildTimeMs / buildCount), invalidationCount);
+    dumpLogger.log("");
+  }
+}
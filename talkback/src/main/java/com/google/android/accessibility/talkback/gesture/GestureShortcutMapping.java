@@ -47,8 +47,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * The class provides gesture and action mappings in TalkBack for quick access. It updates cache
@@ -536,6 +538,12 @@ public class GestureShortcutMapping implements GestureShortcutProvider {
   protected String mediaControlShortcut;
 
   private final String actionGestureUnsupported;
+  private final String actionSwitchGestureSet;
+
+  // Maps action keys to actions, so that resolving the action of a gesture is a single lookup.
+  private final Map<String, TalkbackAction> actionKeyToAction = new HashMap<>();
+  // The preference keys which the gesture-action mappings are loaded from.
+  private final Set<String> mappingPrefKeys = new HashSet<>();
 
   private Context context;
   private boolean gestureSetEnabled;
@@ -550,7 +558,10 @@ public class GestureShortcutMapping implements GestureShortcutProvider {
   /** Reloads preferences whenever their values change. */
   private final OnSharedPreferenceChangeListener sharedPreferenceChangeListener =
       (prefs, key) -> {
-        loadGestureIdToActionKeyMap();
+        // Most preference changes, e.g. the current reading control, do not affect the mappings.
+        if ((key == null) || mappingPrefKeys.contains(key)) {
+          loadGestureIdToActionKeyMap();
+        }
         if (context.getResources().getString(R.string.pref_gesture_set_key).equals(key)) {
           currentGestureSet =
               SharedPreferencesUtils.getIntFromStringPref(
@@ -574,6 +585,7 @@ public class GestureShortcutMapping implements GestureShortcutProvider {
   public GestureShortcutMapping(Context context) {
     this.context = context;
     actionGestureUnsupported = context.getString(R.string.shortcut_value_unsupported);
+    actionSwitchGestureSet = context.getString(R.string.switch_gesture_set);
     actionUnassigned = context.getString(R.string.shortcut_value_unassigned);
     actionTalkbackContextMenu = context.getString(R.string.shortcut_value_talkback_breakout);
     actionNextReadingMenuSetting = context.getString(R.string.shortcut_value_select_next_setting);
@@ -584,6 +596,8 @@ public class GestureShortcutMapping implements GestureShortcutProvider {
     nextWindowShortcut = context.getString(R.string.shortcut_value_next_window);
     mediaControlShortcut = context.getString(R.string.shortcut_value_media_control);
     prefs = SharedPreferencesUtils.getSharedPreferences(context);
+    loadActionKeyToAction();
+    loadMappingPrefKeys();
     prefs.registerOnSharedPreferenceChangeListener(sharedPreferenceChangeListener);
     loadGestureIdToActionKeyMap();
     gestureSetEnabled =
@@ -702,7 +716,7 @@ public class GestureShortcutMapping implements GestureShortcutProvider {
     if (gestureId == GESTURE_TAP_HOLD_AND_2ND_FINGER_FORWARD_DOUBLE_TAP
         || gestureId == GESTURE_TAP_HOLD_AND_2ND_FINGER_BACKWARD_DOUBLE_TAP) {
       // These 2 gestures are dedicated for switching gesture set.
-      return gestureSetEnabled ? context.getString(R.string.switch_gesture_set) : actionUnassigned;
+      return gestureSetEnabled ? actionSwitchGestureSet : actionUnassigned;
     }
     String action = gestureIdToActionKey.get(index).get(gestureId);
     return action == null ? actionUnassigned : action;
@@ -900,6 +914,27 @@ public class GestureShortcutMapping implements GestureShortcutProvider {
     fingerprintGestureIdToActionKey = newFingerPrintGestureIdToActionKey;
   }
 
+  private void loadActionKeyToAction() {
+    for (TalkbackAction action : TalkbackAction.values()) {
+      if (action.actionKeyResId != -1) {
+        // Some actions share an action key, e.g. the click actions. The first declared one wins.
+        actionKeyToAction.putIfAbsent(context.getString(action.actionKeyResId), action);
+      }
+    }
+  }
+
+  private void loadMappingPrefKeys() {
+    for (TalkBackGesture gesture : TalkBackGesture.values()) {
+      String key = context.getString(gesture.keyId);
+      mappingPrefKeys.add(key);
+      for (int index = 0; index < NUMBER_OF_GESTURE_SET; index++) {
+        mappingPrefKeys.add(getPrefKeyWithGestureSet(key, index));
+      }
+    }
+    // The diagnosis mode overrides the action of a gesture.
+    mappingPrefKeys.add(context.getString(R.string.pref_diagnosis_mode_key));
+  }
+
   private boolean skipGestureForRTL(TalkBackGesture gesture) {
     if (gesture.rtlType == RTL_UNRELATED) {
       return false;
@@ -973,13 +1008,7 @@ public class GestureShortcutMapping implements GestureShortcutProvider {
   /** Returns the corresponding TalkBack action null when undefined. */
   @Nullable
   public TalkbackAction getActionEvent(String actionKeyString) {
-    for (TalkbackAction action : TalkbackAction.values()) {
-      if (action.actionKeyResId != -1
-          && TextUtils.equals(context.getString(action.actionKeyResId), actionKeyString)) {
-        return action;
-      }
-    }
-    return null;
+    return (actionKeyString == null) ? null : actionKeyToAction.get(actionKeyString);
   }
 
   /** Returns the corresponding gesture string of gesture id. */
@@ -70,6 +70,10 @@ public abstract class Request {
   public static final int ERROR_IMAGE_DESCRIPTION_NO_RESULT = 400;
   public static final int ERROR_IMAGE_DESCRIPTION_FAILURE = 401;
   public static final int ERROR_IMAGE_DESCRIPTION_INITIALIZATION_FAILURE = 402;
+
+  /** Shared by all requests created on the main thread, which only post their timeouts to it. */
+  private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
   private final Handler handler;
   private final Runnable timeoutRunnable;
   @Nullable private final OnPendingListener onPendingListener;
@@ -85,7 +89,8 @@ public abstract class Request {
   public Request(@Nullable OnPendingListener onPendingListener, @Nullable Duration timeout) {
     this.onPendingListener = onPendingListener;
     this.timeout = timeout;
-    handler = new Handler(Looper.myLooper());
+    Looper looper = Looper.myLooper();
+    handler = (looper == Looper.getMainLooper()) ? mainHandler : new Handler(looper);
     timeoutRunnable =
         () -> {
           LogUtils.e(TAG, "CaptionRequest timeout is reached. " + this);
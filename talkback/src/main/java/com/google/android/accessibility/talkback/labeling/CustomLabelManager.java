@@ -27,6 +27,7 @@ import android.content.pm.PackageManager;
 import android.content.pm.PackageManager.NameNotFoundException;
 import android.content.pm.Signature;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.text.TextUtils;
 import android.util.Pair;
 import androidx.annotation.VisibleForTesting;
@@ -34,6 +35,7 @@ import androidx.core.content.ContextCompat;
 import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
 import com.google.android.accessibility.talkback.BuildConfig;
 import com.google.android.accessibility.utils.LocaleUtils;
+import com.google.android.accessibility.utils.Logger;
 import com.google.android.accessibility.utils.StringBuilderUtils;
 import com.google.android.accessibility.utils.labeling.Label;
 import com.google.android.accessibility.utils.labeling.LabelManager;
@@ -41,11 +43,9 @@ import com.google.android.accessibility.utils.labeling.LabelProviderClient;
 import com.google.android.libraries.accessibility.utils.log.LogUtils;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.NavigableSet;
-import java.util.TreeSet;
 import java.util.regex.Pattern;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -120,29 +120,19 @@ public class CustomLabelManager extends TalkBackLabelManager {
     return stateReader;
   }
 
-  private final NavigableSet<Label> labelCache =
-      new TreeSet<>(
-          new Comparator<Label>() {
-            // Note this comparator is not consistent with equals in Label, we should just implement
-            // compareTo there, but will wait for BrailleBack to be merged with TalkBack
-            @Override
-            public int compare(Label first, Label second) {
-              if (first == null) {
-                if (second == null) {
-                  return 0;
-                } else {
-                  return -1;
-                }
-              }
-
-              if (second == null) return 1;
-
-              int ret = first.getPackageName().compareTo(second.getPackageName());
-              if (ret != 0) return ret;
+  /**
+   * Labels of the current locale, indexed by package name and then by view name. Only accessed on
+   * the main thread; refreshes are loaded in the background and swapped in on the main thread.
+   */
+  private Map<String, Map<String, Label>> labelCache = new HashMap<>();
 
-              return first.getViewName().compareTo(second.getViewName());
-            }
-          });
+  // Refresh statistics for the dump.
+  private int fullRefreshCount;
+  private int packageRefreshCount;
+  private long lastFullRefreshQueryMs;
+  private long lastFullRefreshTotalMs;
+  private long lastPackageRefreshQueryMs;
+  private long lastPackageRefreshTotalMs;
 
   private final CacheRefreshReceiver refreshReceiver = new CacheRefreshReceiver();
   private final LocaleChangedReceiver localeChangedReceiver = new LocaleChangedReceiver();
@@ -270,19 +260,8 @@ public class CustomLabelManager extends TalkBackLabelManager {
       return null;
     }
 
-    Label search = new Label(parsedId.first, null, parsedId.second, null, null, 0, null, 0);
-    Label result = labelCache.ceiling(search);
-    // TODO: This can be done much simplier with modifying equals in Label but want to wait
-    // until BrailleBack is integrate to ensure compatibility
-    if (result != null
-        && search.getViewName() != null
-        && search.getViewName().equals(result.getViewName())
-        && search.getPackageName() != null
-        && search.getPackageName().equals(result.getPackageName())) {
-      return result;
-    }
-
-    return null;
+    @Nullable Map<String, Label> packageLabels = labelCache.get(parsedId.first);
+    return (packageLabels == null) ? null : packageLabels.get(parsedId.second);
   }
 
   /**
@@ -523,15 +502,20 @@ public class CustomLabelManager extends TalkBackLabelManager {
     }
   }
 
+  /**
+   * Imports the labels of {@code labels} in the background, and closes it when done.
+   *
+   * @param conflictResolution How to resolve imported labels that match existing labels
+   */
   public void importLabels(
-      List<Label> labels,
-      boolean overrideExistentLabels,
+      ImportLabelRequest.LabelSource labels,
+      @ImportLabelRequest.ConflictResolution int conflictResolution,
       final CustomLabelMigrationManager.OnLabelMigrationCallback callback) {
     ImportLabelRequest request =
         new ImportLabelRequest(
             client,
             labels,
-            overrideExistentLabels,
+            conflictResolution,
             new ImportLabelRequest.OnImportLabelCallback() {
               @Override
               public void onLabelImported(int changedLabelsCount) {
@@ -540,6 +524,14 @@ public class CustomLabelManager extends TalkBackLabelManager {
                   callback.onLabelImported(changedLabelsCount);
                 }
               }
+
+              @Override
+              public void onImportFailed() {
+                // Nothing was written, so the label cache is still up to date.
+                if (callback != null) {
+                  callback.onFail();
+                }
+              }
             });
     LabelTask<Integer> task = new LabelTask<>(request, taskCallback);
     task.execute();
@@ -572,20 +564,87 @@ public class CustomLabelManager extends TalkBackLabelManager {
 
   /** Invalidates and rebuilds the cache of labels managed by this class. */
   private void refreshCache() {
-    getLabelsFromDatabase(
-        new LabelsFetchRequest.OnLabelsFetchedListener() {
-          @Override
-          public void onLabelsFetched(List<Label> results) {
-            labelCache.clear();
-            String currentLocale = LocaleUtils.getDefaultLocale();
-            for (Label newLabel : results) {
-              String locale = newLabel.getLocale();
-              if (locale != null && locale.startsWith(currentLocale)) {
-                labelCache.add(newLabel);
-              }
-            }
-          }
-        });
+    refreshCache(/* packageNames= */ null);
+  }
+
+  /**
+   * Reloads the labels of the given packages into the cache, or rebuilds the whole cache if {@code
+   * packageNames} is {@code null}. The database is queried off the main thread.
+   */
+  private void refreshCache(String @Nullable [] packageNames) {
+    if (!isInitialized()) {
+      return;
+    }
+
+    final long startTime = SystemClock.uptimeMillis();
+    LabelCacheRefreshRequest request =
+        new LabelCacheRefreshRequest(
+            client,
+            LocaleUtils.getDefaultLocale(),
+            packageNames,
+            result -> onLabelCacheRefreshed(result, startTime));
+    LabelTask<LabelCacheRefreshRequest.Result> task = new LabelTask<>(request, taskCallback);
+    task.execute();
+  }
+
+  private void onLabelCacheRefreshed(LabelCacheRefreshRequest.Result result, long startTime) {
+    if (result.failed) {
+      LogUtils.w(TAG, "Failed to refresh the label cache.");
+      return;
+    }
+
+    if (result.isFullRefresh) {
+      labelCache = result.labels;
+    } else {
+      for (Map.Entry<String, Map<String, Label>> entry : result.labels.entrySet()) {
+        if (entry.getValue().isEmpty()) {
+          labelCache.remove(entry.getKey());
+        } else {
+          labelCache.put(entry.getKey(), entry.getValue());
+        }
+      }
+    }
+
+    long totalTimeMs = SystemClock.uptimeMillis() - startTime;
+    if (result.isFullRefresh) {
+      fullRefreshCount++;
+      lastFullRefreshQueryMs = result.queryTimeMs;
+      lastFullRefreshTotalMs = totalTimeMs;
+    } else {
+      packageRefreshCount++;
+      lastPackageRefreshQueryMs = result.queryTimeMs;
+      lastPackageRefreshTotalMs = totalTimeMs;
+    }
+    LogUtils.v(
+        TAG,
+        "Label cache refreshed: packages=%d, full=%s, queryMs=%d, totalMs=%d",
+        result.labels.size(),
+        result.isFullRefresh,
+        result.queryTimeMs,
+        totalTimeMs);
+  }
+
+  /** Returns the number of labels in the cache. */
+  private int getCachedLabelCount() {
+    int count = 0;
+    for (Map<String, Label> packageLabels : labelCache.values()) {
+      count += packageLabels.size();
+    }
+    return count;
+  }
+
+  @Override
+  public void dump(Logger dumpLogger) {
+    dumpLogger.log("CustomLabelManager");
+    dumpLogger.log(
+        " cachedPackages=%d, cachedLabels=%d", labelCache.size(), getCachedLabelCount());
+    dumpLogger.log(
+        " fullRefreshes=%d, lastFullRefreshQueryMs=%d, lastFullRefreshTotalMs=%d",
+        fullRefreshCount, lastFullRefreshQueryMs, lastFullRefreshTotalMs);
+    dumpLogger.log(
+        " packageRefreshes=%d, lastPackageRefreshQueryMs=%d, lastPackageRefreshTotalMs=%d",
+        packageRefreshCount, lastPackageRefreshQueryMs, lastPackageRefreshTotalMs);
+    dumpLogger.log("");
   }
 
   /**
@@ -700,7 +759,9 @@ public class CustomLabelManager extends TalkBackLabelManager {
 
     @Override
     public void onReceive(Context context, Intent intent) {
-      refreshCache();
+      String @Nullable [] packageNames = intent.getStringArrayExtra(EXTRA_STRING_ARRAY_PACKAGES);
+      // Only reload the packages whose labels changed, if the sender specified them.
+      refreshCache((packageNames == null || packageNames.length == 0) ? null : packageNames);
     }
   }
 
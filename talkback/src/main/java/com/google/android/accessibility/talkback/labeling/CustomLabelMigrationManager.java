@@ -16,10 +16,11 @@
 
 package com.google.android.accessibility.talkback.labeling;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import android.content.Context;
 import android.net.Uri;
 import android.os.Handler;
-import android.text.TextUtils;
 import android.widget.Toast;
 import androidx.annotation.NonNull;
 import com.google.android.accessibility.talkback.R;
@@ -33,6 +34,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.io.Writer;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -48,14 +50,14 @@ import org.json.JSONObject;
 public class CustomLabelMigrationManager {
 
   private static final String TAG = "CustomLabelMigrManager";
-  private static final String JSON_LABELS_ARRAY = "labels_array";
-  private static final String JSON_LABEL_PACKAGE_NAME = "package_name";
-  private static final String JSON_LABEL_PACKAGE_SIGNATURE = "package_signature";
-  private static final String JSON_LABEL_VIEW_NAME = "view_name";
-  private static final String JSON_LABEL_TEXT = "label_text";
-  private static final String JSON_LABEL_LOCALE = "locale";
-  private static final String JSON_PACKAGE_VERSION = "package_version";
-  private static final String JSON_TIMESTAMP = "timestamp";
+  static final String JSON_LABELS_ARRAY = "labels_array";
+  static final String JSON_LABEL_PACKAGE_NAME = "package_name";
+  static final String JSON_LABEL_PACKAGE_SIGNATURE = "package_signature";
+  static final String JSON_LABEL_VIEW_NAME = "view_name";
+  static final String JSON_LABEL_TEXT = "label_text";
+  static final String JSON_LABEL_LOCALE = "locale";
+  static final String JSON_PACKAGE_VERSION = "package_version";
+  static final String JSON_TIMESTAMP = "timestamp";
 
   /** Callback for label migration. */
   public interface OnLabelMigrationCallback {
@@ -183,82 +185,42 @@ public class CustomLabelMigrationManager {
     writer.close();
   }
 
+  /**
+   * Imports the labels of the label file at {@code contentUri}. The file is parsed incrementally
+   * on a background thread, while the labels are imported.
+   */
   public void importLabels(
-      Uri contentUri, boolean overrideExistingLabels, OnLabelMigrationCallback callback) {
+      Uri contentUri,
+      @ImportLabelRequest.ConflictResolution int conflictResolution,
+      OnLabelMigrationCallback callback) {
+    InputStream stream;
     try {
-      String text = readText(contentUri);
-      if (text == null) {
-        return;
-      }
-
-      List<Label> labels = parseLabels(text);
-      if (labels.isEmpty()) {
-        return;
-      }
-
-      manager.importLabels(labels, overrideExistingLabels, callback);
-    } catch (Exception e) {
+      stream = context.getContentResolver().openInputStream(contentUri);
+    } catch (IOException | SecurityException e) {
+      stream = null;
+      LogUtils.e(TAG, "failed to open label file: %s", e);
+    }
+    if (stream == null) {
       notifyFailure(callback);
-      LogUtils.e(TAG, "failed to import labels");
+      return;
     }
-  }
 
-  private String readText(Uri contentUri) throws IOException {
-    StringBuilder text = new StringBuilder();
-    InputStream is = context.getContentResolver().openInputStream(contentUri);
-    BufferedReader br = new BufferedReader(new InputStreamReader(is));
-    String line;
-
-    while ((line = br.readLine()) != null) {
-      text.append(line);
-      text.append('\n');
-    }
-    br.close();
-    return text.toString();
+    manager.importLabels(
+        new LabelFileReader(new BufferedReader(new InputStreamReader(stream, UTF_8))),
+        conflictResolution,
+        callback);
   }
 
   // public visibility for tests
   @NonNull
-  public List<Label> parseLabels(String jsonText) throws JSONException {
-    JSONObject root = new JSONObject(jsonText);
-    JSONArray labelsArray = root.getJSONArray(JSON_LABELS_ARRAY);
-    if (labelsArray == null) {
-      return ImmutableList.of();
-    }
-
-    int count = labelsArray.length();
-    List<Label> result = new ArrayList<>(count);
-    for (int i = 0; i < count; i++) {
-      JSONObject labelObject = labelsArray.getJSONObject(i);
-      String packageName = labelObject.getString(JSON_LABEL_PACKAGE_NAME);
-      if (TextUtils.isEmpty(packageName)) {
-        continue;
+  public List<Label> parseLabels(String jsonText) throws IOException {
+    List<Label> result = new ArrayList<>();
+    try (LabelFileReader reader = new LabelFileReader(new StringReader(jsonText))) {
+      Label label;
+      while ((label = reader.next()) != null) {
+        result.add(label);
       }
-      String packageSignature = labelObject.getString(JSON_LABEL_PACKAGE_SIGNATURE);
-      String viewName = labelObject.getString(JSON_LABEL_VIEW_NAME);
-      if (TextUtils.isEmpty(viewName)) {
-        continue;
-      }
-      String labelText = labelObject.getString(JSON_LABEL_TEXT);
-      if (TextUtils.isEmpty(labelText)) {
-        continue;
-      }
-      String locale = labelObject.getString(JSON_LABEL_LOCALE);
-      int packageVersion = labelObject.getInt(JSON_PACKAGE_VERSION);
-      long timestamp = labelObject.getLong(JSON_TIMESTAMP);
-      Label label =
-          new Label(
-              packageName,
-              packageSignature,
-              viewName,
-              labelText,
-              locale,
-              packageVersion,
-              "",
-              timestamp);
-      result.add(label);
     }
-
     return ImmutableList.copyOf(result);
   }
 }
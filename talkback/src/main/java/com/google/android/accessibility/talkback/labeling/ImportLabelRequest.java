@@ -16,80 +16,173 @@
 
 package com.google.android.accessibility.talkback.labeling;
 
+import androidx.annotation.IntDef;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.accessibility.talkback.labeling.LabelSeparator.LabelWrapper;
 import com.google.android.accessibility.utils.labeling.Label;
 import com.google.android.accessibility.utils.labeling.LabelProviderClient;
+import com.google.android.libraries.accessibility.utils.log.LogUtils;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+/**
+ * Imports labels into the labels database.
+ *
+ * <p>Labels are read from a {@link LabelSource} one at a time, and conflicts with existing labels
+ * are resolved in the same pass. Nothing is written until the whole source has been read, so a
+ * malformed or truncated source leaves the database unchanged. Labels to insert are then written in
+ * batches of {@link #BATCH_SIZE}, one database transaction per batch.
+ */
 public class ImportLabelRequest extends LabelClientRequest<Integer> {
 
-  private final List<Label> labels;
-  private final boolean overrideExistingLabels;
+  private static final String TAG = "ImportLabelRequest";
+
+  /** How to resolve an imported label that matches an existing label. */
+  @IntDef({CONFLICT_SKIP, CONFLICT_OVERWRITE, CONFLICT_KEEP_NEWER})
+  @Retention(RetentionPolicy.SOURCE)
+  public @interface ConflictResolution {}
+
+  /** Keeps the existing label, and drops the imported label. */
+  public static final int CONFLICT_SKIP = 0;
+  /** Replaces the existing label, which is kept as a backup until the next import. */
+  public static final int CONFLICT_OVERWRITE = 1;
+  /** Keeps whichever of the existing and the imported label has the newer timestamp. */
+  public static final int CONFLICT_KEEP_NEWER = 2;
+
+  /** Number of labels inserted per database transaction. */
+  @VisibleForTesting static final int BATCH_SIZE = 500;
+
+  /** Supplies the labels to import, one at a time. */
+  public interface LabelSource extends Closeable {
+    /** Returns the next label, or {@code null} if there are no more labels. */
+    @Nullable
+    Label next() throws IOException;
+  }
+
+  private final LabelSource labels;
+  private final @ConflictResolution int conflictResolution;
   private final OnImportLabelCallback callback;
 
   public ImportLabelRequest(
       LabelProviderClient client,
-      List<Label> labels,
-      boolean overrideExistingLabels,
+      LabelSource labels,
+      @ConflictResolution int conflictResolution,
       OnImportLabelCallback listener) {
     super(client);
     this.labels = labels;
-    this.overrideExistingLabels = overrideExistingLabels;
+    this.conflictResolution = conflictResolution;
     callback = listener;
   }
 
+  /** Returns the number of imported labels, or {@code null} if the labels could not be read. */
   @Override
-  public Integer doInBackground() {
+  public @Nullable Integer doInBackground() {
+    try {
+      return importLabels();
+    } catch (IOException e) {
+      LogUtils.e(TAG, "Failed to read labels: %s", e);
+      return null;
+    } finally {
+      try {
+        labels.close();
+      } catch (IOException e) {
+        LogUtils.w(TAG, "Failed to close label source: %s", e);
+      }
+    }
+  }
+
+  private int importLabels() throws IOException {
     if (!mClient.isInitialized()) {
       return 0;
     }
 
+    Map<LabelWrapper, Label> existingLabels = new HashMap<>();
+    @Nullable List<Label> currentLabels = mClient.getCurrentLabels();
+    if (currentLabels != null) {
+      for (Label label : currentLabels) {
+        if (label != null) {
+          existingLabels.put(new LabelWrapper(label), label);
+        }
+      }
+    }
+
+    // Read the whole source before writing, so that a read failure changes nothing.
+    List<Label> labelsToInsert = new ArrayList<>();
+    long[] backupIds = new long[BATCH_SIZE];
+    int backupCount = 0;
+    int readCount = 0;
+    @Nullable Label label;
+    while ((label = labels.next()) != null) {
+      readCount++;
+      @Nullable Label existingLabel = existingLabels.get(new LabelWrapper(label));
+      if (existingLabel == null) {
+        labelsToInsert.add(label);
+      } else if (shouldReplace(existingLabel, label)) {
+        if (backupCount == backupIds.length) {
+          backupIds = Arrays.copyOf(backupIds, backupCount * 2);
+        }
+        backupIds[backupCount++] = existingLabel.getId();
+        labelsToInsert.add(label);
+      }
+    }
+
     mClient.deleteLabels(CustomLabelManager.SOURCE_TYPE_BACKUP);
     mClient.updateSourceType(
         CustomLabelManager.SOURCE_TYPE_IMPORT, CustomLabelManager.SOURCE_TYPE_USER);
-    List<Label> currentLabels = mClient.getCurrentLabels();
-    if (currentLabels == null) {
-      currentLabels = new ArrayList<>();
+    if (backupCount > 0) {
+      mClient.updateLabelsSourceType(
+          Arrays.copyOf(backupIds, backupCount), CustomLabelManager.SOURCE_TYPE_BACKUP);
     }
-
-    LabelSeparator separator = new LabelSeparator(currentLabels, labels);
-    List<Label> newLabels = separator.getImportedNewLabels();
     int updateCount = 0;
-    int labelCount = newLabels.size();
-    for (int index = 0; index < labelCount; index++) {
-      Label label = newLabels.get(index);
-      mClient.insertLabel(label, CustomLabelManager.SOURCE_TYPE_IMPORT);
-      updateCount++;
+    int labelCount = labelsToInsert.size();
+    for (int start = 0; start < labelCount; start += BATCH_SIZE) {
+      updateCount +=
+          mClient.insertLabels(
+              labelsToInsert.subList(start, Math.min(start + BATCH_SIZE, labelCount)),
+              CustomLabelManager.SOURCE_TYPE_IMPORT);
     }
 
-    if (overrideExistingLabels) {
-      List<Label> existentConflictLabels = separator.getExistingConflictLabels();
-      int existentLabelCount = existentConflictLabels.size();
-      for (int index = 0; index < existentLabelCount; index++) {
-        Label label = existentConflictLabels.get(index);
-        mClient.updateLabelSourceType(label.getId(), CustomLabelManager.SOURCE_TYPE_BACKUP);
-      }
+    LogUtils.v(TAG, "Read %d labels, imported %d", readCount, updateCount);
+    return updateCount;
+  }
 
-      List<Label> importedConflictLabels = separator.getImportedConflictLabels();
-      int importedLabelCount = importedConflictLabels.size();
-      for (int index = 0; index < importedLabelCount; index++) {
-        Label label = importedConflictLabels.get(index);
-        mClient.insertLabel(label, CustomLabelManager.SOURCE_TYPE_IMPORT);
-        updateCount++;
-      }
+  private boolean shouldReplace(Label existingLabel, Label importedLabel) {
+    switch (conflictResolution) {
+      case CONFLICT_OVERWRITE:
+        return true;
+      case CONFLICT_KEEP_NEWER:
+        return importedLabel.getTimestamp() > existingLabel.getTimestamp();
+      case CONFLICT_SKIP:
+      default:
+        return false;
     }
-
-    return updateCount;
   }
 
   @Override
-  public void onPostExecute(Integer result) {
-    if (callback != null && result != null) {
+  public void onPostExecute(@Nullable Integer result) {
+    if (callback == null) {
+      return;
+    }
+    if (result == null) {
+      callback.onImportFailed();
+    } else {
       callback.onLabelImported(result);
     }
   }
 
+  /** Receives the import results on the main thread. */
   public interface OnImportLabelCallback {
     public void onLabelImported(int changedLabelsCount);
+
+    /** Called if the labels could not be read. The labels database is left unchanged. */
+    default void onImportFailed() {}
   }
 }
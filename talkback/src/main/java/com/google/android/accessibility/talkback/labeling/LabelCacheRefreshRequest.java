@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.android.accessibility.talkback.labeling;
+
+import android.os.SystemClock;
+import com.google.android.accessibility.utils.labeling.Label;
+import com.google.android.accessibility.utils.labeling.LabelProviderClient;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Loads the labels of the current locale for the label cache, grouped by package name and then by
+ * view name. Loads either all packages, or only the given packages.
+ */
+public class LabelCacheRefreshRequest extends LabelClientRequest<LabelCacheRefreshRequest.Result> {
+
+  /** Labels loaded by the request. */
+  public static class Result {
+    /**
+     * Package name -> view name -> label. For a package refresh, every requested package has an
+     * entry, which is empty if the package has no labels anymore.
+     */
+    public final Map<String, Map<String, Label>> labels;
+
+    /** Whether {@link #labels} replaces the whole cache, rather than some packages of it. */
+    public final boolean isFullRefresh;
+
+    /** Whether the database query failed, in which case the cache should be left unchanged. */
+    public final boolean failed;
+
+    /** Time spent querying the database, in milliseconds. */
+    public final long queryTimeMs;
+
+    Result(
+        Map<String, Map<String, Label>> labels,
+        boolean isFullRefresh,
+        boolean failed,
+        long queryTimeMs) {
+      this.labels = labels;
+      this.isFullRefresh = isFullRefresh;
+      this.failed = failed;
+      this.queryTimeMs = queryTimeMs;
+    }
+  }
+
+  private final String locale;
+  private final String @Nullable [] packageNames;
+  private final OnLabelCacheRefreshedListener listener;
+
+  /**
+   * @param locale The locale prefix that labels must match
+   * @param packageNames The packages to reload, or {@code null} to reload all labels
+   */
+  public LabelCacheRefreshRequest(
+      LabelProviderClient client,
+      String locale,
+      String @Nullable [] packageNames,
+      OnLabelCacheRefreshedListener listener) {
+    super(client);
+    this.locale = locale;
+    this.packageNames = packageNames;
+    this.listener = listener;
+  }
+
+  @Override
+  public Result doInBackground() {
+    long startTime = SystemClock.uptimeMillis();
+    Map<String, Map<String, Label>> labels = new HashMap<>();
+    boolean failed = false;
+    if (packageNames == null) {
+      @Nullable List<Label> results = mClient.getCurrentLabels();
+      if (results == null) {
+        failed = true;
+      } else {
+        for (Label label : results) {
+          String labelLocale = label.getLocale();
+          if (labelLocale != null && labelLocale.startsWith(locale)) {
+            Map<String, Label> packageLabels = labels.get(label.getPackageName());
+            if (packageLabels == null) {
+              packageLabels = new HashMap<>();
+              labels.put(label.getPackageName(), packageLabels);
+            }
+            packageLabels.putIfAbsent(label.getViewName(), label);
+          }
+        }
+      }
+    } else {
+      for (String packageName : packageNames) {
+        @Nullable Map<String, Label> packageLabels =
+            mClient.getLabelsForPackage(packageName, locale);
+        if (packageLabels == null) {
+          failed = true;
+          break;
+        }
+        labels.put(packageName, new HashMap<>(packageLabels));
+      }
+    }
+    return new Result(
+        labels, packageNames == null, failed, SystemClock.uptimeMillis() - startTime);
+  }
+
+  @Override
+  public void onPostExecute(Result result) {
+    if (listener != null) {
+      listener.onLabelCacheRefreshed(result);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "LabelCacheRefreshRequest{packages="
+        + ((packageNames == null) ? "all" : String.join(",", packageNames))
+        + "}";
+  }
+
+  /** Receives the loaded labels on the main thread. */
+  public interface OnLabelCacheRefreshedListener {
+    void onLabelCacheRefreshed(Result result);
+  }
+}
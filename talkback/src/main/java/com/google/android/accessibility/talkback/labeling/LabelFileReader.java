@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.android.accessibility.talkback.labeling;
+
+import static com.google.android.accessibility.talkback.labeling.CustomLabelMigrationManager.JSON_LABELS_ARRAY;
+import static com.google.android.accessibility.talkback.labeling.CustomLabelMigrationManager.JSON_LABEL_LOCALE;
+import static com.google.android.accessibility.talkback.labeling.CustomLabelMigrationManager.JSON_LABEL_PACKAGE_NAME;
+import static com.google.android.accessibility.talkback.labeling.CustomLabelMigrationManager.JSON_LABEL_PACKAGE_SIGNATURE;
+import static com.google.android.accessibility.talkback.labeling.CustomLabelMigrationManager.JSON_LABEL_TEXT;
+import static com.google.android.accessibility.talkback.labeling.CustomLabelMigrationManager.JSON_LABEL_VIEW_NAME;
+import static com.google.android.accessibility.talkback.labeling.CustomLabelMigrationManager.JSON_PACKAGE_VERSION;
+import static com.google.android.accessibility.talkback.labeling.CustomLabelMigrationManager.JSON_TIMESTAMP;
+
+import android.text.TextUtils;
+import android.util.JsonReader;
+import android.util.JsonToken;
+import com.google.android.accessibility.utils.labeling.Label;
+import java.io.IOException;
+import java.io.Reader;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Reads the labels of an exported label file one at a time, so that large label files can be
+ * imported without holding the whole file text, or its parsed JSON tree, in memory.
+ */
+class LabelFileReader implements ImportLabelRequest.LabelSource {
+
+  private final JsonReader reader;
+  private boolean inLabelsArray = false;
+  private boolean finished = false;
+
+  LabelFileReader(Reader in) {
+    reader = new JsonReader(in);
+  }
+
+  /**
+   * Returns the next label of the file, or {@code null} after the last label. Entries without a
+   * package name, view name, or text are skipped.
+   *
+   * @throws IOException if the file can not be read, or is not a valid label file
+   */
+  @Override
+  public @Nullable Label next() throws IOException {
+    if (finished) {
+      return null;
+    }
+
+    try {
+      if (!inLabelsArray) {
+        if (!openLabelsArray()) {
+          finished = true;
+          return null;
+        }
+        inLabelsArray = true;
+      }
+
+      while (reader.hasNext()) {
+        @Nullable Label label = readLabel();
+        if (label != null) {
+          return label;
+        }
+      }
+      reader.endArray();
+    } catch (IllegalStateException | NumberFormatException e) {
+      // JsonReader reports unexpected tokens with unchecked exceptions.
+      throw new IOException("Malformed label file", e);
+    }
+
+    finished = true;
+    return null;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  /** Positions the reader inside the labels array. Returns false if the file has no such array. */
+  private boolean openLabelsArray() throws IOException {
+    reader.beginObject();
+    while (reader.hasNext()) {
+      if (JSON_LABELS_ARRAY.equals(reader.nextName())
+          && reader.peek() == JsonToken.BEGIN_ARRAY) {
+        reader.beginArray();
+        return true;
+      }
+      reader.skipValue();
+    }
+    return false;
+  }
+
+  private @Nullable Label readLabel() throws IOException {
+    String packageName = null;
+    String packageSignature = null;
+    String viewName = null;
+    String labelText = null;
+    String locale = null;
+    int packageVersion = 0;
+    long timestamp = 0;
+
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      if (reader.peek() == JsonToken.NULL) {
+        reader.skipValue();
+        continue;
+      }
+      switch (name) {
+        case JSON_LABEL_PACKAGE_NAME:
+          packageName = reader.nextString();
+          break;
+        case JSON_LABEL_PACKAGE_SIGNATURE:
+          packageSignature = reader.nextString();
+          break;
+        case JSON_LABEL_VIEW_NAME:
+          viewName = reader.nextString();
+          break;
+        case JSON_LABEL_TEXT:
+          labelText = reader.nextString();
+          break;
+        case JSON_LABEL_LOCALE:
+          locale = reader.nextString();
+          break;
+        case JSON_PACKAGE_VERSION:
+          packageVersion = reader.nextInt();
+          break;
+        case JSON_TIMESTAMP:
+          timestamp = reader.nextLong();
+          break;
+        default:
+          reader.skipValue();
+          break;
+      }
+    }
+    reader.endObject();
+
+    if (TextUtils.isEmpty(packageName)
+        || TextUtils.isEmpty(viewName)
+        || TextUtils.isEmpty(labelText)) {
+      return null;
+    }
+
+    return new Label(
+        packageName, packageSignature, viewName, labelText, locale, packageVersion, "", timestamp);
+  }
+}
@@ -59,20 +59,21 @@ public class LabelImportActivity extends Activity {
         new DialogInterface.OnClickListener() {
           @Override
           public void onClick(DialogInterface dialog, int which) {
-            boolean overrideExistentLabels = true;
+            @ImportLabelRequest.ConflictResolution int conflictResolution;
             if (which == Dialog.BUTTON_POSITIVE) {
-              overrideExistentLabels = false;
-              dialog.dismiss();
-            } else if (which == Dialog.BUTTON_NEGATIVE) {
-              overrideExistentLabels = true;
-              dialog.dismiss();
+              conflictResolution = ImportLabelRequest.CONFLICT_SKIP;
+            } else if (which == Dialog.BUTTON_NEUTRAL) {
+              conflictResolution = ImportLabelRequest.CONFLICT_KEEP_NEWER;
+            } else {
+              conflictResolution = ImportLabelRequest.CONFLICT_OVERWRITE;
             }
+            dialog.dismiss();
 
             CustomLabelMigrationManager exporter =
                 new CustomLabelMigrationManager(getApplicationContext());
             exporter.importLabels(
                 uri,
-                overrideExistentLabels,
+                conflictResolution,
                 new CustomLabelMigrationManager.SimpleLabelMigrationCallback() {
                   @Override
                   public void onLabelImported(int updateCount) {
@@ -98,6 +99,7 @@ public class LabelImportActivity extends Activity {
         .setTitle(R.string.label_import_dialog_title)
         .setPositiveButton(R.string.label_import_dialog_skip, buttonClickListener)
         .setNegativeButton(R.string.label_import_dialog_override, buttonClickListener)
+        .setNeutralButton(R.string.label_import_dialog_keep_newer, buttonClickListener)
         .setCancelable(true)
         .setOnDismissListener(
             new DialogInterface.OnDismissListener() {
@@ -16,10 +16,20 @@
 
 package com.google.android.accessibility.talkback.labeling;
 
-import android.os.AsyncTask;
+import android.os.Handler;
+import android.os.Looper;
+import com.google.android.libraries.accessibility.utils.concurrent.TaskScheduler;
+import java.util.concurrent.Executor;
 
-/** LabelTask */
-public class LabelTask<T> extends AsyncTask<Void, Void, T> {
+/**
+ * Runs a {@link LabelClientRequest} on a background thread and delivers the result on the main
+ * thread.
+ *
+ * <p>Requests run one at a time, in submission order, on the user-visible lane of the {@link
+ * TaskScheduler}. This keeps the ordering guarantees of the serial {@code AsyncTask} executor that
+ * was used previously, so that e.g. a cache refresh always observes preceding label changes.
+ */
+public class LabelTask<T> {
 
   /** TrackedTaskCallback */
   public interface TrackedTaskCallback {
@@ -28,40 +38,55 @@ public class LabelTask<T> extends AsyncTask<Void, Void, T> {
     public void onTaskPostExecute(LabelClientRequest<?> request);
   }
 
+  private static final Executor BACKGROUND_EXECUTOR =
+      TaskScheduler.getInstance().newSerialExecutor(TaskScheduler.LANE_USER_VISIBLE);
+
   private final LabelClientRequest<T> request;
   private final TrackedTaskCallback callback;
+  private final Executor executor;
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
 
   public LabelTask(LabelClientRequest<T> request, TrackedTaskCallback callback) {
+    this(request, callback, BACKGROUND_EXECUTOR);
+  }
+
+  LabelTask(LabelClientRequest<T> request, TrackedTaskCallback callback, Executor executor) {
     this.callback = callback;
     this.request = request;
+    this.executor = executor;
+  }
+
+  /** Starts the task. Must be called on the main thread. */
+  public void execute() {
+    onPreExecute();
+    executor.execute(
+        () -> {
+          T result = doInBackground();
+          mainHandler.post(() -> onPostExecute(result));
+        });
   }
 
-  @Override
   protected void onPreExecute() {
     if (callback != null) {
       callback.onTaskPreExecute(request);
     }
-    super.onPreExecute();
   }
 
   /**
-   * See {@link AsyncTask#onPostExecute}.
+   * Runs on the main thread with the result of {@link #doInBackground()}.
    *
    * <p>If overridden in a child class, this method should be invoked after any processing by the
    * child is complete. Failing to do so, or doing so out of order may result in failure to release
    * or premature release of resources.
    */
-  @Override
   protected void onPostExecute(T result) {
     request.onPostExecute(result);
     if (callback != null) {
       callback.onTaskPostExecute(request);
     }
-    super.onPostExecute(result);
   }
 
-  @Override
-  protected T doInBackground(Void... params) {
+  protected T doInBackground() {
     return request.doInBackground();
   }
 }
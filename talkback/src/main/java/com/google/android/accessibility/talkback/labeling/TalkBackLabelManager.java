@@ -23,6 +23,7 @@ import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
 import com.google.android.accessibility.utils.AccessibilityEventListener;
 import com.google.android.accessibility.utils.AccessibilityEventUtils;
 import com.google.android.accessibility.utils.AccessibilityNodeInfoUtils;
+import com.google.android.accessibility.utils.Logger;
 import com.google.android.accessibility.utils.Performance.EventId;
 import com.google.android.accessibility.utils.Role;
 import com.google.android.accessibility.utils.labeling.Label;
@@ -129,6 +130,11 @@ public abstract class TalkBackLabelManager implements LabelManager, Accessibilit
     // do nothing by default
   }
 
+  /** Dumps the state of this manager for diagnostics. */
+  public void dump(Logger dumpLogger) {
+    // Do nothing by default.
+  }
+
   /** Tries to overwrite the label for a node and returns whether it was successful. */
   public abstract boolean setLabel(
       @Nullable AccessibilityNodeInfoCompat node, @Nullable String userLabel);
@@ -64,6 +64,9 @@ public class Performance {
   private static final long FEEDBACK_QUEUED_THRESHOLD_MS = 1000;
   private static final long FEEDBACK_HEARD_THRESHOLD_MS = 1000;
 
+  /** Statistics label of text changes which type or delete a single character. */
+  private static final String LABEL_KEYSTROKE = "TextEvent-keystroke";
+
   /////////////////////////////////////////////////////////////////////////////////////////////
   // Constants
 
@@ -235,14 +238,26 @@ public class Performance {
       timeInteractionStart = event.getEventTime();
     }
 
-    // Segment events based on type.
+    // Segment events based on type. Single-character edits are also tracked on their own, since
+    // their latency is what the user hears as keyboard echo delay.
     String label = AccessibilityEventUtils.typeToString(event.getEventType());
-    String[] labels = {label};
+    String[] labels =
+        isKeystrokeTextChange(event) ? new String[] {label, LABEL_KEYSTROKE} : new String[] {label};
 
     onEventReceived(eventId, labels);
     return eventId;
   }
 
+  /** Returns whether {@code event} is a text change typing or deleting a single character. */
+  private static boolean isKeystrokeTextChange(@NonNull AccessibilityEvent event) {
+    if (event.getEventType() != AccessibilityEvent.TYPE_VIEW_TEXT_CHANGED) {
+      return false;
+    }
+    int added = event.getAddedCount();
+    int removed = event.getRemovedCount();
+    return ((added == 1) && (removed == 0)) || ((added == 0) && (removed == 1));
+  }
+
   public EventId onEventReceived(int motionEventSource) {
     EventId eventId = toEventId(motionEventSource);
     if (!trackEvents()) {
@@ -47,7 +47,7 @@ class MultiFingerSwipe extends GestureMatcher {
   public static final int UNCERTAIN = 4;
 
   // Buffer for storing points for gesture detection.
-  private final List<List<PointF>> strokeBuffers;
+  private final List<StrokeBuffer> strokeBuffers;
 
   // The swipe direction for this matcher.
   private int targetDirection;
@@ -85,7 +85,7 @@ class MultiFingerSwipe extends GestureMatcher {
     previousGesturePoint = new PointF[targetFingerCount];
     strokeBuffers = new ArrayList<>();
     for (int i = 0; i < targetFingerCount; ++i) {
-      strokeBuffers.add(new ArrayList<PointF>());
+      strokeBuffers.add(new StrokeBuffer(/* initialCapacity= */ 32));
     }
     targetDirection = direction;
     DisplayMetrics displayMetrics = context.getResources().getDisplayMetrics();
@@ -233,7 +233,7 @@ class MultiFingerSwipe extends GestureMatcher {
     final float dX = Math.abs(x - previousGesturePoint[pointerIndex].x);
     final float dY = Math.abs(y - previousGesturePoint[pointerIndex].y);
     if (dX >= minPixelsBetweenSamplesX || dY >= minPixelsBetweenSamplesY) {
-      strokeBuffers.get(pointerIndex).add(new PointF(x, y));
+      strokeBuffers.get(pointerIndex).add(x, y);
     }
     // We will evaluate all the paths on ACTION_UP.
   }
@@ -249,8 +249,11 @@ class MultiFingerSwipe extends GestureMatcher {
         // those who have.
         continue;
       }
-      gestureMotionEventLog(
-          VERBOSE, getGestureName(), "Processing move on finger %d", pointerIndex);
+      if (logMotionEvent) {
+        // Checked here to avoid building the name and boxing the arguments on every move.
+        gestureMotionEventLog(
+            VERBOSE, getGestureName(), "Processing move on finger %d", pointerIndex);
+      }
       int index = event.findPointerIndex(pointerIds[pointerIndex]);
       if (index < 0) {
         // This finger is not present in this event. It could have gone up just before this
@@ -269,7 +272,9 @@ class MultiFingerSwipe extends GestureMatcher {
       final float dY = Math.abs(y - previousGesturePoint[pointerIndex].y);
       final double moveDelta =
           Math.hypot(Math.abs(x - base[pointerIndex].x), Math.abs(y - base[pointerIndex].y));
-      gestureMotionEventLog(VERBOSE, "moveDelta%g", moveDelta);
+      if (logMotionEvent) {
+        gestureMotionEventLog(VERBOSE, "moveDelta%g", moveDelta);
+      }
       if (getState() == STATE_CLEAR) {
         if (moveDelta < (targetFingerCount * touchSlop)) {
           // This still counts as a touch not a swipe.
@@ -289,7 +294,7 @@ class MultiFingerSwipe extends GestureMatcher {
         // This is confirmed to be some kind of swipe so start tracking points.
         startGesture(event);
         for (int i = 0; i < targetFingerCount; ++i) {
-          strokeBuffers.get(i).add(new PointF(base[i]));
+          strokeBuffers.get(i).add(base[i].x, base[i].y);
         }
       } else if (getState() == STATE_GESTURE_STARTED) {
         // Cancel if the finger starts to go the wrong way.
@@ -303,7 +308,7 @@ class MultiFingerSwipe extends GestureMatcher {
           // Sample every 2.5 MM in order to guard against minor variations in path.
           previousGesturePoint[pointerIndex].x = x;
           previousGesturePoint[pointerIndex].y = y;
-          strokeBuffers.get(pointerIndex).add(new PointF(x, y));
+          strokeBuffers.get(pointerIndex).add(x, y);
         }
       }
     }
@@ -340,7 +345,7 @@ class MultiFingerSwipe extends GestureMatcher {
     final float dX = Math.abs(x - previousGesturePoint[pointerIndex].x);
     final float dY = Math.abs(y - previousGesturePoint[pointerIndex].y);
     if (dX >= minPixelsBetweenSamplesX || dY >= minPixelsBetweenSamplesY) {
-      strokeBuffers.get(pointerIndex).add(new PointF(x, y));
+      strokeBuffers.get(pointerIndex).add(x, y);
     }
     recognizeGesture(eventId, event);
   }
@@ -361,9 +366,11 @@ class MultiFingerSwipe extends GestureMatcher {
         cancelGesture(event);
         return;
       }
-      List<PointF> path = strokeBuffers.get(i);
+      StrokeBuffer path = strokeBuffers.get(i);
 
-      gestureMotionEventLog(VERBOSE, "path= %s", path.toString());
+      if (logMotionEvent) {
+        gestureMotionEventLog(VERBOSE, "path= %s", path.toString());
+      }
       // Classify line segments, and call Listener callbacks.
       if (!recognizeGesturePath(path)) {
         cancelGesture(event);
@@ -379,13 +386,10 @@ class MultiFingerSwipe extends GestureMatcher {
    *
    * @return True if the path matches the specified direction for this matcher, otherwise false.
    */
-  private boolean recognizeGesturePath(List<PointF> path) {
+  private boolean recognizeGesturePath(StrokeBuffer path) {
     for (int i = 0; i < path.size() - 1; ++i) {
-      PointF start = path.get(i);
-      PointF end = path.get(i + 1);
-
-      float dX = end.x - start.x;
-      float dY = end.y - start.y;
+      float dX = path.getX(i + 1) - path.getX(i);
+      float dY = path.getY(i + 1) - path.getY(i);
       int direction = toDirection(dX, dY);
       if (direction != targetDirection) {
         gestureMotionEventLog(
@@ -171,7 +171,9 @@ class SecondFingerMultiTap extends GestureMatcher {
       return true;
     }
     final double moveDelta = Math.hypot(deltaX, deltaY);
-    gestureMotionEventLog(VERBOSE, "moveDelta: %g", moveDelta);
+    if (logMotionEvent) {
+      gestureMotionEventLog(VERBOSE, "moveDelta: %g", moveDelta);
+    }
     return moveDelta <= slop;
   }
 
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2024 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.android.accessibility.utils.gestures;
+
+import java.util.Arrays;
+
+/**
+ * The points sampled along the path of one finger. Points are stored in primitive arrays, which are
+ * reused across gestures, so sampling a point does not allocate once the buffer has grown.
+ */
+final class StrokeBuffer {
+
+  private float[] xs;
+  private float[] ys;
+  private int size;
+
+  StrokeBuffer(int initialCapacity) {
+    xs = new float[initialCapacity];
+    ys = new float[initialCapacity];
+  }
+
+  void add(float x, float y) {
+    if (size == xs.length) {
+      int capacity = Math.max(1, size * 2);
+      xs = Arrays.copyOf(xs, capacity);
+      ys = Arrays.copyOf(ys, capacity);
+    }
+    xs[size] = x;
+    ys[size] = y;
+    size++;
+  }
+
+  float getX(int index) {
+    return xs[index];
+  }
+
+  float getY(int index) {
+    return ys[index];
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  void clear() {
+    size = 0;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      builder.append('(').append(xs[i]).append(", ").append(ys[i]).append(')');
+    }
+    return builder.append(']').toString();
+  }
+}
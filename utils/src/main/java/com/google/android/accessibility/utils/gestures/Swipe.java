@@ -48,7 +48,7 @@ class Swipe extends GestureMatcher {
   private final float gestureDetectionThresholdPixels;
 
   // Buffer for storing points for gesture detection.
-  private final ArrayList<PointF> strokeBuffer = new ArrayList<>(100);
+  private final StrokeBuffer strokeBuffer = new StrokeBuffer(100);
 
   // Constants for sampling motion event points.
   // We sample based on a minimum distance between points, primarily to improve accuracy by
@@ -145,11 +145,14 @@ class Swipe extends GestureMatcher {
     final float dY = Math.abs(y - previousGestureY);
     final double moveDelta = Math.hypot(Math.abs(x - baseX), Math.abs(y - baseY));
     final long timeDelta = time - baseTime;
-    gestureMotionEventLog(
-        VERBOSE,
-        "moveDelta: %g,  mGestureDetectionThreshold: %g",
-        moveDelta,
-        gestureDetectionThresholdPixels);
+    if (logMotionEvent) {
+      // Checked here to avoid boxing the arguments on every move of every swipe matcher.
+      gestureMotionEventLog(
+          VERBOSE,
+          "moveDelta: %g,  mGestureDetectionThreshold: %g",
+          moveDelta,
+          gestureDetectionThresholdPixels);
+    }
     if (getState() == STATE_CLEAR) {
       if (moveDelta < touchSlop) {
         // This still counts as a touch not a swipe.
@@ -162,7 +165,7 @@ class Swipe extends GestureMatcher {
           return;
         }
         // This is confirmed to be some kind of swipe so start tracking points.
-        strokeBuffer.add(new PointF(baseX, baseY));
+        strokeBuffer.add(baseX, baseY);
       }
     }
     if (moveDelta > gestureDetectionThresholdPixels) {
@@ -187,7 +190,7 @@ class Swipe extends GestureMatcher {
       // At this point gesture detection has started and we are sampling points.
       previousGestureX = x;
       previousGestureY = y;
-      strokeBuffer.add(new PointF(x, y));
+      strokeBuffer.add(x, y);
     }
   }
 
@@ -214,7 +217,7 @@ class Swipe extends GestureMatcher {
     final float dX = Math.abs(x - previousGestureX);
     final float dY = Math.abs(y - previousGestureY);
     if (dX >= minPixelsBetweenSamplesX || dY >= minPixelsBetweenSamplesY) {
-      strokeBuffer.add(new PointF(x, y));
+      strokeBuffer.add(x, y);
     }
     recognizeGesture(eventId, event);
   }
@@ -248,7 +251,7 @@ class Swipe extends GestureMatcher {
     // 90 degrees.
 
     ArrayList<PointF> path = new ArrayList<>();
-    PointF lastDelimiter = strokeBuffer.get(0);
+    PointF lastDelimiter = new PointF(strokeBuffer.getX(0), strokeBuffer.getY(0));
     path.add(lastDelimiter);
 
     float dX = 0; // Sum of unit vectors from last delimiter to each following point
@@ -256,9 +259,11 @@ class Swipe extends GestureMatcher {
     int count = 0; // Number of points since last delimiter
     float length = 0; // Vector length from delimiter to most recent point
 
-    PointF next = null;
+    float nextX = 0;
+    float nextY = 0;
     for (int i = 1; i < strokeBuffer.size(); ++i) {
-      next = strokeBuffer.get(i);
+      nextX = strokeBuffer.getX(i);
+      nextY = strokeBuffer.getY(i);
       if (count > 0) {
         // Average of unit vectors from delimiter to following points
         float currentDX = dX / count;
@@ -275,8 +280,8 @@ class Swipe extends GestureMatcher {
             new PointF(length * currentDX + lastDelimiter.x, length * currentDY + lastDelimiter.y);
 
         // Unit vector from newDelimiter to the most recent point
-        float nextDX = next.x - newDelimiter.x;
-        float nextDY = next.y - newDelimiter.y;
+        float nextDX = nextX - newDelimiter.x;
+        float nextDY = nextY - newDelimiter.y;
         float nextLength = (float) Math.hypot(nextDX, nextDY);
         nextDX = nextDX / nextLength;
         nextDY = nextDY / nextLength;
@@ -294,8 +299,8 @@ class Swipe extends GestureMatcher {
       }
 
       // Vector from last delimiter to most recent point
-      float currentDX = next.x - lastDelimiter.x;
-      float currentDY = next.y - lastDelimiter.y;
+      float currentDX = nextX - lastDelimiter.x;
+      float currentDY = nextY - lastDelimiter.y;
       length = (float) Math.hypot(currentDX, currentDY);
 
       // Increment sum of unit vectors from delimiter to each following point
@@ -304,8 +309,10 @@ class Swipe extends GestureMatcher {
       dY = dY + currentDY / length;
     }
 
-    path.add(next);
-    gestureMotionEventLog(VERBOSE, "path = %s", path.toString());
+    path.add(new PointF(nextX, nextY));
+    if (logMotionEvent) {
+      gestureMotionEventLog(VERBOSE, "path = %s", path.toString());
+    }
     // Classify line segments, and call Listener callbacks.
     recognizeGesturePath(eventId, event, path);
   }
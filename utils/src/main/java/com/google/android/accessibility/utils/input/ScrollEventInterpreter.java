@@ -29,6 +29,7 @@ import com.google.android.accessibility.utils.AccessibilityEventListener;
 import com.google.android.accessibility.utils.AccessibilityEventUtils;
 import com.google.android.accessibility.utils.AccessibilityNodeInfoUtils;
 import com.google.android.accessibility.utils.BuildVersionUtils;
+import com.google.android.accessibility.utils.Logger;
 import com.google.android.accessibility.utils.Performance.EventId;
 import com.google.android.accessibility.utils.Supplier;
 import com.google.android.accessibility.utils.monitor.AudioPlaybackMonitor;
@@ -40,8 +41,11 @@ import com.google.android.accessibility.utils.traversal.TraversalStrategy.Search
 import com.google.android.accessibility.utils.traversal.TraversalStrategyUtils;
 import com.google.android.libraries.accessibility.utils.log.LogUtils;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -58,6 +62,15 @@ public class ScrollEventInterpreter implements AccessibilityEventListener {
 
   private static final int SCROLL_NOISE_RANGE = 15;
 
+  /** Maximum number of scrollable nodes whose scroll position is cached. */
+  @VisibleForTesting static final int MAX_CACHED_POSITIONS = 64;
+
+  /**
+   * Maximum time between two scroll events on the same node for the direction of the earlier event
+   * to be carried over to an ambiguous later event.
+   */
+  private static final long DIRECTION_CARRY_OVER_MS = 500;
+
   // The record for the current scroll instance Id which we already have handled.
   private int handledScrollInstanceId = -1;
 
@@ -207,8 +220,27 @@ public class ScrollEventInterpreter implements AccessibilityEventListener {
   private final @Nullable AudioPlaybackMonitor audioPlaybackMonitor;
   private final @NonNull TouchMonitor touchMonitor;
 
-  /** Maps from scrollable node id to scroll position information. */
-  private final HashMap<NodeIdentifier, PositionInfo> cachedPositionInfo = new HashMap<>();
+  /**
+   * Maps from scrollable node id to scroll position information. The map is access-ordered and
+   * bounded, so that the least recently scrolled nodes are evicted first.
+   */
+  private final LinkedHashMap<NodeIdentifier, PositionInfo> cachedPositionInfo =
+      new LinkedHashMap<NodeIdentifier, PositionInfo>(
+          /* initialCapacity= */ 16, /* loadFactor= */ 0.75f, /* accessOrder= */ true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<NodeIdentifier, PositionInfo> eldest) {
+          if (size() > MAX_CACHED_POSITIONS) {
+            capacityEvictionCount++;
+            return true;
+          }
+          return false;
+        }
+      };
+
+  // Diagnostic counters for the scroll position cache.
+  private int capacityEvictionCount = 0;
+  private int windowEvictionCount = 0;
+  private int maxCachedPositionCount = 0;
 
   // Outputs
   private final List<ScrollEventHandler> listeners = new ArrayList<>();
@@ -264,7 +296,7 @@ public class ScrollEventInterpreter implements AccessibilityEventListener {
         }
 
         if (interpretation.hasValidIndex && !interpretation.isDuplicateEvent) {
-          cacheScrollPositionInfo(event);
+          cacheScrollPositionInfo(event, interpretation.scrollDirection);
         }
 
         notifyListenersWithInterpretation(event, interpretation, eventId);
@@ -274,6 +306,33 @@ public class ScrollEventInterpreter implements AccessibilityEventListener {
     }
   }
 
+  /**
+   * Evicts the cached scroll positions of nodes in the given windows. Called when windows are
+   * removed from the screen, since their nodes can never be scrolled again.
+   */
+  public void onWindowsRemoved(Collection<Integer> windowIds) {
+    if (windowIds.isEmpty() || cachedPositionInfo.isEmpty()) {
+      return;
+    }
+    Iterator<NodeIdentifier> iterator = cachedPositionInfo.keySet().iterator();
+    while (iterator.hasNext()) {
+      if (windowIds.contains(iterator.next().windowId)) {
+        iterator.remove();
+        windowEvictionCount++;
+      }
+    }
+  }
+
+  public void dump(Logger dumpLogger) {
+    dumpLogger.log("ScrollEventInterpreter");
+    dumpLogger.log(
+        " cachedPositions=%d, maxCachedPositions=%d, capacity=%d",
+        cachedPositionInfo.size(), maxCachedPositionCount, MAX_CACHED_POSITIONS);
+    dumpLogger.log(
+        " capacityEvictions=%d, windowEvictions=%d", capacityEvictionCount, windowEvictionCount);
+    dumpLogger.log("");
+  }
+
   @VisibleForTesting
   void notifyListenersWithInterpretation(
       AccessibilityEvent event, ScrollEventInterpretation interpretation, EventId eventId) {
@@ -414,6 +473,46 @@ public class ScrollEventInterpreter implements AccessibilityEventListener {
       return TraversalStrategy.SEARCH_FOCUS_UNKNOWN;
     }
 
+    @SearchDirectionOrUnknown
+    int direction = getScrollDirectionFromPosition(previousPosition, event);
+    if (direction != TraversalStrategy.SEARCH_FOCUS_UNKNOWN) {
+      return direction;
+    }
+
+    // Intermediate scroll events may have been dropped or coalesced by the framework, so that this
+    // event only reports a small residual movement. If the same node was scrolled in a known
+    // direction moments ago, and the position moved that way again, assume the scroll continues.
+    if ((previousPosition.direction != TraversalStrategy.SEARCH_FOCUS_UNKNOWN)
+        && (event.getEventTime() - previousPosition.eventTime <= DIRECTION_CARRY_OVER_MS)
+        && movedInDirection(previousPosition, event, previousPosition.direction)) {
+      return previousPosition.direction;
+    }
+
+    return TraversalStrategy.SEARCH_FOCUS_UNKNOWN;
+  }
+
+  /**
+   * Returns whether the position reported by {@code event} moved from {@code previousPosition} in
+   * {@code direction}, regardless of the amount of movement.
+   */
+  private static boolean movedInDirection(
+      PositionInfo previousPosition,
+      AccessibilityEvent event,
+      @SearchDirectionOrUnknown int direction) {
+    int sign = (direction == TraversalStrategy.SEARCH_FOCUS_FORWARD) ? 1 : -1;
+    int fromIndexDiff = sign * (event.getFromIndex() - previousPosition.fromIndex);
+    int toIndexDiff = sign * (event.getToIndex() - previousPosition.toIndex);
+    int scrollXDiff = sign * (event.getScrollX() - previousPosition.scrollX);
+    int scrollYDiff = sign * (event.getScrollY() - previousPosition.scrollY);
+    if (fromIndexDiff < 0 || toIndexDiff < 0 || scrollXDiff < 0 || scrollYDiff < 0) {
+      return false;
+    }
+    return (fromIndexDiff + toIndexDiff + scrollXDiff + scrollYDiff) > 0;
+  }
+
+  @SearchDirectionOrUnknown
+  private int getScrollDirectionFromPosition(
+      PositionInfo previousPosition, AccessibilityEvent event) {
     // Checks scroll of AdapterViews and doesn't care toIndex because changing of toIndex might be
     // expanding list-item only.
     if (event.getFromIndex() != INDEX_UNDEFINED && previousPosition.fromIndex != INDEX_UNDEFINED) {
@@ -460,7 +559,8 @@ public class ScrollEventInterpreter implements AccessibilityEventListener {
 
   private boolean isDuplicateEvent(NodeIdentifier sourceNodeIdentifier, AccessibilityEvent event) {
     final PositionInfo positionInfo = cachedPositionInfo.get(sourceNodeIdentifier);
-    return (positionInfo != null) && positionInfo.equals(new PositionInfo(event));
+    return (positionInfo != null)
+        && positionInfo.equals(new PositionInfo(event, TraversalStrategy.SEARCH_FOCUS_UNKNOWN));
   }
 
   private static boolean hasValidIndex(AccessibilityEvent event) {
@@ -480,13 +580,16 @@ public class ScrollEventInterpreter implements AccessibilityEventListener {
         && (event.getMaxScrollX() > 0 || event.getMaxScrollY() > 0);
   }
 
-  private void cacheScrollPositionInfo(AccessibilityEvent event) {
+  private void cacheScrollPositionInfo(
+      AccessibilityEvent event, @SearchDirectionOrUnknown int scrollDirection) {
     AccessibilityNodeInfo sourceNode = event.getSource();
     if (sourceNode == null) {
       return;
     }
 
-    cachedPositionInfo.put(new NodeIdentifier(sourceNode), new PositionInfo(event));
+    cachedPositionInfo.put(
+        new NodeIdentifier(sourceNode), new PositionInfo(event, scrollDirection));
+    maxCachedPositionCount = Math.max(maxCachedPositionCount, cachedPositionInfo.size());
   }
 
   /**
@@ -517,7 +620,10 @@ public class ScrollEventInterpreter implements AccessibilityEventListener {
     return (source == null) || source.isScrollable();
   }
 
-  /** Caches scroll position from {@link AccessibilityEvent}. */
+  /**
+   * Caches scroll position from {@link AccessibilityEvent}. The interpreted direction and event
+   * time are kept for direction inference, but are not part of the position equality.
+   */
   private static class PositionInfo {
     private final int fromIndex;
     private final int toIndex;
@@ -526,8 +632,10 @@ public class ScrollEventInterpreter implements AccessibilityEventListener {
     private final int itemCount;
     private final int scrollDeltaX;
     private final int scrollDeltaY;
+    @SearchDirectionOrUnknown private final int direction;
+    private final long eventTime;
 
-    PositionInfo(AccessibilityEvent event) {
+    PositionInfo(AccessibilityEvent event, @SearchDirectionOrUnknown int direction) {
       fromIndex = event.getFromIndex();
       toIndex = event.getToIndex();
       scrollX = event.getScrollX();
@@ -535,6 +643,8 @@ public class ScrollEventInterpreter implements AccessibilityEventListener {
       itemCount = event.getItemCount();
       scrollDeltaX = AccessibilityEventUtils.getScrollDeltaX(event);
       scrollDeltaY = AccessibilityEventUtils.getScrollDeltaY(event);
+      this.direction = direction;
+      eventTime = event.getEventTime();
     }
 
     @Override
@@ -317,25 +317,25 @@ public class TextEventFilter {
   }
 
   private boolean shouldSkipCursorMovementEvent(AccessibilityEvent event) {
-    AccessibilityEvent lastKeptTextSelection = textEventHistory.getLastKeptTextSelection();
-    if (lastKeptTextSelection == null) {
+    if (!textEventHistory.hasLastKeptTextSelection()) {
       return false;
     }
+    int lastKeptTextSelectionType = textEventHistory.getLastKeptTextSelectionType();
 
     // If event is at least X later than previous event, then keep it.
-    if (event.getEventTime() - lastKeptTextSelection.getEventTime()
+    if (event.getEventTime() - textEventHistory.getLastKeptTextSelectionTime()
         > CURSOR_MOVEMENT_EVENTS_DELAY) {
       textEventHistory.setLastKeptTextSelection(null);
       return false;
     }
 
     // If event has the same type as previous, it is from a different action, so keep it.
-    if (event.getEventType() == lastKeptTextSelection.getEventType()) {
+    if (event.getEventType() == lastKeptTextSelectionType) {
       return false;
     }
 
     // If text-selection-change is followed by text-move-with-granularity, skip movement.
-    if (lastKeptTextSelection.getEventType() == AccessibilityEvent.TYPE_VIEW_TEXT_SELECTION_CHANGED
+    if (lastKeptTextSelectionType == AccessibilityEvent.TYPE_VIEW_TEXT_SELECTION_CHANGED
         && event.getEventType()
             == AccessibilityEvent.TYPE_VIEW_TEXT_TRAVERSED_AT_MOVEMENT_GRANULARITY) {
       return true;
@@ -18,7 +18,6 @@ package com.google.android.accessibility.utils.input;
 
 import android.view.accessibility.AccessibilityEvent;
 import android.view.accessibility.AccessibilityNodeInfo;
-import com.google.android.accessibility.utils.AccessibilityEventUtils;
 import com.google.android.libraries.accessibility.utils.log.LogUtils;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -44,10 +43,11 @@ public class TextEventHistory {
   private int mTextChangesAwaitingSelection = 0;
   private long mLastTextChangeTime = -1;
   private @Nullable CharSequence mLastTextChangePackageName;
-  private @Nullable AccessibilityEvent mLastKeptTextSelection;
+  // Only the type and time of the last kept selection event are used, so the event is not copied.
+  private int mLastKeptTextSelectionType = 0;
+  private long mLastKeptTextSelectionTime = -1;
 
   // Event history used by selection change events
-  private AccessibilityEvent mLastProcessedEvent;
   private int mLastFromIndex = NO_INDEX;
   private int mLastToIndex = NO_INDEX;
   private @Nullable AccessibilityNodeInfo mLastNode;
@@ -92,13 +92,23 @@ public class TextEventHistory {
     return mLastTextChangePackageName;
   }
 
+  /** Records the type and time of {@code event}, or forgets them if {@code event} is null. */
   public void setLastKeptTextSelection(@Nullable AccessibilityEvent event) {
-    mLastKeptTextSelection = AccessibilityEventUtils.replaceWithCopy(mLastKeptTextSelection, event);
+    mLastKeptTextSelectionType = (event == null) ? 0 : event.getEventType();
+    mLastKeptTextSelectionTime = (event == null) ? -1 : event.getEventTime();
     traceSet("LastKeptTextSelection", "(object)");
   }
 
-  public @Nullable AccessibilityEvent getLastKeptTextSelection() {
-    return mLastKeptTextSelection;
+  public boolean hasLastKeptTextSelection() {
+    return mLastKeptTextSelectionType != 0;
+  }
+
+  public int getLastKeptTextSelectionType() {
+    return mLastKeptTextSelectionType;
+  }
+
+  public long getLastKeptTextSelectionTime() {
+    return mLastKeptTextSelectionTime;
   }
 
   public void setLastFromIndex(int index) {
@@ -129,13 +139,6 @@ public class TextEventHistory {
     return mLastNode;
   }
 
-  // incompatible types in assignment.
-  @SuppressWarnings("nullness:assignment")
-  public void setLastProcessedEvent(AccessibilityEvent newEvent) {
-    mLastProcessedEvent = AccessibilityEventUtils.replaceWithCopy(mLastProcessedEvent, newEvent);
-    traceSet("LastProcessedEvent", "(object)");
-  }
-
   ////////////////////////////////////////////////////////////////////////////////////
   // Methods to log set operations
 
@@ -24,6 +24,7 @@ import android.annotation.SuppressLint;
 import android.content.Context;
 import android.os.Build;
 import android.text.SpannableString;
+import android.text.Spanned;
 import android.text.TextUtils;
 import android.text.style.TtsSpan;
 import android.view.accessibility.AccessibilityEvent;
@@ -44,7 +45,6 @@ import com.google.android.accessibility.utils.output.SelectionStateReader;
 import com.google.android.accessibility.utils.output.SpeechCleanupUtils;
 import com.google.android.libraries.accessibility.utils.log.LogUtils;
 import java.util.List;
-import java.util.regex.Pattern;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -55,8 +55,6 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public class TextEventInterpreter {
 
   private static final String TAG = "TextEventInterpreter";
-  // Pre compiled pattern of character which is a punctuation symbol.
-  private static final Pattern PUNCTUATION_PATTERN = Pattern.compile("\\p{Punct}");
   // TalkBack treats the ' ' as the general space character. In some situation, when the content is
   // hyper formatted such as Gmail composer, the Non-Break Space (NBSP) '\u00A0' is used instead.
   private static final char NBSP = '\u00A0';
@@ -279,7 +277,8 @@ public class TextEventInterpreter {
 
     // Extract added/removed text from event.
     CharSequence removedText = getRemovedText(event);
-    CharSequence addedText = getAddedText(event);
+    final CharSequence eventAddedText = getAddedText(event);
+    CharSequence addedText = eventAddedText;
     if (removedText == null) {
       return interpretation.setInvalid("removedText is null.");
     }
@@ -323,7 +322,7 @@ public class TextEventInterpreter {
     if (!TextUtils.isEmpty(cleanAddedText)) {
       boolean replacementSupported =
           mContext.getResources().getBoolean(R.bool.supports_text_replacement);
-      if (appendLastWordIfNeeded(event, interpretation)
+      if (appendLastWordIfNeeded(event, eventAddedText, interpretation)
           || TextUtils.isEmpty(cleanRemovedText)
           || TextUtils.equals(cleanAddedText, cleanRemovedText)
           || (!replacementSupported)) {
@@ -485,8 +484,6 @@ public class TextEventInterpreter {
           CharSequence traversedText = getSubsequence(isPassword, text, startIndex, endIndex);
           interpretation.setTraversedText(traversedText);
         }
-        // Update history.
-        mHistory.setLastProcessedEvent(event);
         return interpretation;
         /**
          * TODO refactor the following three cases when we get more information for the text
@@ -528,8 +525,6 @@ public class TextEventInterpreter {
             getSelectedText(isPassword, text, fromIndex, toIndex, mHistory.getLastToIndex());
         interpretation.setDeselectedText(deselectedText);
         interpretation.setSelectedText(selectedText);
-        // Update history.
-        mHistory.setLastProcessedEvent(event);
         return interpretation;
       } else if (fromIndex == 0 && toIndex == textLength && hasKeyboardAction) {
         interpretation.setEvent(TextEventInterpretation.SELECTION_SELECT_ALL_WITH_KEYBOARD);
@@ -673,22 +668,37 @@ public class TextEventInterpreter {
     return Character.isWhitespace(ch) || ch == NBSP;
   }
 
+  /**
+   * Returns whether {@code ch} is a punctuation symbol, in the same sense as the regex class {@code
+   * \p{Punct}}, i.e. an ASCII punctuation or symbol character. Checked by range because this runs
+   * for every typed character.
+   */
   private static boolean isPunctuation(char ch) {
-    return PUNCTUATION_PATTERN.matcher(Character.toString(ch)).matches();
+    return ((ch >= '!') && (ch <= '/'))
+        || ((ch >= ':') && (ch <= '@'))
+        || ((ch >= '[') && (ch <= '`'))
+        || ((ch >= '{') && (ch <= '~'));
   }
 
+  /**
+   * Sets the word just completed by typing a space or punctuation as the initial word of {@code
+   * interpretation}, so that it is echoed. Returns whether a word was set.
+   *
+   * @param addedText the text added by {@code event}, before translating partial replacement
+   */
   private boolean appendLastWordIfNeeded(
-      AccessibilityEvent event, TextEventInterpretation interpretation) {
+      AccessibilityEvent event,
+      @Nullable CharSequence addedText,
+      TextEventInterpretation interpretation) {
     // Do not handle word's keyboard echo for password field.
     if (event.isPassword()) {
       return false;
     }
-    final CharSequence text = getEventText(event);
-    final CharSequence addedText = getAddedText(event);
-    int fromIndex = event.getFromIndex();
     if (addedText == null || addedText.length() == 0) {
       return false;
     }
+    final CharSequence text = getEventText(event);
+    int fromIndex = event.getFromIndex();
     char lastChar = addedText.charAt(addedText.length() - 1);
     // Echo word only occurs when the added character is either a space or a punctuation symbol.
     if (!isWhiteSpace(lastChar) && !isPunctuation(lastChar)) {
@@ -827,6 +837,10 @@ public class TextEventInterpreter {
     if (from < 0 || text.length() < to || to < from) {
       return null;
     }
+    if (!(text instanceof Spanned)) {
+      // No spans to trim, so skip copying the whole text, which happens for every keystroke.
+      return text.subSequence(from, to);
+    }
 
     SpannableString textWithSpans = SpannableString.valueOf(text);
     CharSequence subsequence = text.subSequence(from, to);
@@ -71,6 +71,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import org.checkerframework.checker.initialization.qual.UnderInitialization;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -315,6 +316,10 @@ public class WindowEventInterpreter implements WindowsDelegate, DisplayStateChan
 
   private List<WindowEventHandler> listeners = new ArrayList<>();
   private final List<WindowEventHandler> priorityListeners = new ArrayList<>();
+  private final List<WindowsRemovedListener> windowsRemovedListeners = new ArrayList<>();
+
+  /** Ids of the windows on each display, as of the last windows-changed event. */
+  private final HashMap<Integer, HashSet<Integer>> displayIdToWindowIds = new HashMap<>();
 
   private final Statistics statisticsAboutDelay = new Statistics();
 
@@ -515,6 +520,17 @@ public class WindowEventInterpreter implements WindowsDelegate, DisplayStateChan
     listeners.add(listener);
   }
 
+  /** Listener for windows that are no longer on screen. */
+  public interface WindowsRemovedListener {
+    /** Called with the ids of windows that disappeared since the last windows-changed event. */
+    void onWindowsRemoved(Set<Integer> windowIds);
+  }
+
+  /** Adds a listener that is notified when windows are removed from the screen. */
+  public void addWindowsRemovedListener(WindowsRemovedListener listener) {
+    windowsRemovedListeners.add(listener);
+  }
+
   @VisibleForTesting
   public void setListeners(WindowEventHandler listener) {
     listeners = new ArrayList<>();
@@ -970,12 +986,32 @@ public class WindowEventInterpreter implements WindowsDelegate, DisplayStateChan
           for (Integer windowId : windowIdsToBeRemoved) {
             windowIdToData.remove(windowId);
           }
+          notifyWindowsRemoved(displayId, windows);
         }
         break;
       default: // fall out
     }
   }
 
+  private void notifyWindowsRemoved(int displayId, List<AccessibilityWindowInfo> windows) {
+    HashSet<Integer> currentWindowIds = new HashSet<>();
+    for (AccessibilityWindowInfo window : windows) {
+      currentWindowIds.add(window.getId());
+    }
+    @Nullable HashSet<Integer> previousWindowIds =
+        displayIdToWindowIds.put(displayId, currentWindowIds);
+    if (previousWindowIds == null) {
+      return;
+    }
+    previousWindowIds.removeAll(currentWindowIds);
+    if (previousWindowIds.isEmpty()) {
+      return;
+    }
+    for (WindowsRemovedListener listener : windowsRemovedListeners) {
+      listener.onWindowsRemoved(previousWindowIds);
+    }
+  }
+
   private static @Nullable CharSequence getTextFromWindowStateChange(
       AccessibilityEvent event, boolean useContentDescription) {
     if (useContentDescription && !TextUtils.isEmpty(event.getContentDescription())) {
@@ -158,6 +158,49 @@ public class LabelProviderClient {
     return new Label(label, newLabelId);
   }
 
+  /**
+   * Inserts the specified labels into the labels database in a single batch, which the labels
+   * {@link android.content.ContentProvider} runs in one transaction.
+   *
+   * <p>Don't run this method on the UI thread. Use {@link android.os.AsyncTask}.
+   *
+   * @param labels The labels to store in the database. Labels with an ID are skipped.
+   * @return The number of inserted labels.
+   */
+  public int insertLabels(List<Label> labels, int sourceType) {
+    LogUtils.d(TAG, "Inserting %d labels.", (labels == null) ? 0 : labels.size());
+
+    if (labels == null || labels.isEmpty()) {
+      return 0;
+    }
+
+    if (!checkClient()) {
+      return 0;
+    }
+
+    List<ContentValues> valuesList = new ArrayList<>(labels.size());
+    for (Label label : labels) {
+      if (label == null) {
+        continue;
+      }
+      if (label.getId() != Label.NO_ID) {
+        LogUtils.w(TAG, "Cannot insert label with existing ID (id=%d).", label.getId());
+        continue;
+      }
+      ContentValues values = buildContentValuesForLabel(label);
+      values.put(LabelsTable.KEY_SOURCE_TYPE, sourceType);
+      valuesList.add(values);
+    }
+
+    try {
+      return mClient.bulkInsert(mLabelsContentUri, valuesList.toArray(new ContentValues[0]));
+    } catch (RemoteException e) {
+      LogUtils.e(TAG, "RemoteException caught!");
+      LogUtils.d(TAG, e.toString());
+      return 0;
+    }
+  }
+
   /**
    * Gets a list of all labels in the label database.
    *
@@ -442,6 +485,45 @@ public class LabelProviderClient {
     }
   }
 
+  /**
+   * Updates the source type of the labels with the given IDs with a single update statement.
+   *
+   * <p>Don't run this method on the UI thread. Use {@link android.os.AsyncTask}.
+   *
+   * @return The number of updated labels.
+   */
+  public int updateLabelsSourceType(long[] labelIds, int newSourceType) {
+    LogUtils.d(TAG, "Updating source type of %d labels", (labelIds == null) ? 0 : labelIds.length);
+
+    if (labelIds == null || labelIds.length == 0) {
+      return 0;
+    }
+
+    if (!checkClient()) {
+      return 0;
+    }
+
+    ContentValues values = new ContentValues();
+    values.put(LabelsTable.KEY_SOURCE_TYPE, newSourceType);
+
+    StringBuilder selection = new StringBuilder(LabelsTable.KEY_ID).append(" IN (");
+    for (int i = 0; i < labelIds.length; i++) {
+      if (i > 0) {
+        selection.append(',');
+      }
+      selection.append(labelIds[i]);
+    }
+    selection.append(')');
+
+    try {
+      return mClient.update(mLabelsContentUri, values, selection.toString(), null);
+    } catch (RemoteException e) {
+      LogUtils.e(TAG, "RemoteException caught!");
+      LogUtils.d(TAG, e.toString());
+      return 0;
+    }
+  }
+
   public boolean updateSourceType(int currentSourceType, int newSourceType) {
     LogUtils.d(TAG, "Updating source type");
 
@@ -17,10 +17,15 @@
 package com.google.android.accessibility.utils.output;
 
 import android.media.SoundPool;
-import android.os.AsyncTask;
+import com.google.android.libraries.accessibility.utils.concurrent.TaskScheduler;
+import java.util.concurrent.Executor;
 
 /** Task to play earcons in background thread */
-public class EarconsPlayTask extends AsyncTask<Void, Integer, Boolean> {
+public class EarconsPlayTask implements Runnable {
+  /** Plays earcons one at a time, in the order they were requested. */
+  private static final Executor PLAY_EXECUTOR =
+      TaskScheduler.getInstance().newSerialExecutor(TaskScheduler.LANE_INTERACTIVE);
+
   private SoundPool mSoundPool;
   private int soundId;
   private float volume;
@@ -33,14 +38,14 @@ public class EarconsPlayTask extends AsyncTask<Void, Integer, Boolean> {
     this.rate = rate;
   }
 
-  /**
-   * Play earcon with given soundId in background thread
-   *
-   * @param voids not using any parameters as they will passed in via constructor
-   * @return if play successful or not
-   */
+  /** Plays the earcon on the interactive lane, after the earcons that were requested before. */
+  public void execute() {
+    PLAY_EXECUTOR.execute(this);
+  }
+
+  /** Play earcon with given soundId in background thread */
   @Override
-  protected Boolean doInBackground(Void... voids) {
-    return mSoundPool.play(soundId, volume, volume, 0, 0, rate) != 0;
+  public void run() {
+    mSoundPool.play(soundId, volume, volume, 0, 0, rate);
   }
 }
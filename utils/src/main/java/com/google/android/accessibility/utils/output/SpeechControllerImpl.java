@@ -43,6 +43,7 @@ import android.text.Spanned;
 import android.text.TextUtils;
 import android.text.style.ReplacementSpan;
 import android.text.style.TtsSpan;
+import android.util.Log;
 import android.util.Range;
 import androidx.annotation.IntDef;
 import androidx.annotation.NonNull;
@@ -1409,7 +1410,9 @@ public class SpeechControllerImpl implements SpeechController {
       // Clear all current and queued utterances.
       clearCurrentAndQueuedUtterances(notifyObserver);
     }
-    LogUtils.v(TAG, "interrupt, stopTtsSpeechCompletely=" + stopTtsSpeechCompletely);
+    if (LogUtils.shouldLog(Log.VERBOSE)) {
+      LogUtils.v(TAG, "interrupt, stopTtsSpeechCompletely=%b", stopTtsSpeechCompletely);
+    }
 
     clearUtteranceRangeStartCallbacks();
     // Clear and post all remaining completion actions.
@@ -1718,15 +1721,17 @@ public class SpeechControllerImpl implements SpeechController {
       }
     }
 
-    final String logText = (text == null) ? null : String.format("\"%s\"", text.toString());
-    LogUtils.v(
-        TAG,
-        "Speaking fragment text=%s, utteranceId=%s, spans=%s, locale=%s, event=%s",
-        logText,
-        feedbackItem.getUtteranceId(),
-        SpannableUtils.spansToStringForLogging(text),
-        locale,
-        eventId);
+    if (LogUtils.shouldLog(Log.VERBOSE)) {
+      final String logText = (text == null) ? null : String.format("\"%s\"", text.toString());
+      LogUtils.v(
+          TAG,
+          "Speaking fragment text=%s, utteranceId=%s, spans=%s, locale=%s, event=%s",
+          logText,
+          feedbackItem.getUtteranceId(),
+          SpannableUtils.spansToStringForLogging(text),
+          locale,
+          eventId);
+    }
 
     if (text != null && feedbackItem.hasFlag(FeedbackItem.FLAG_FORCE_FEEDBACK)) {
       mDelegate.onSpeakingForcedFeedback();
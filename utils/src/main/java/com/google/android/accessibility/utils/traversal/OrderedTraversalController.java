@@ -224,6 +224,11 @@ public class OrderedTraversalController {
     movingTree.setParent(targetTree);
   }
 
+  /** Returns whether {@code node} is part of the traversal order. */
+  public boolean contains(AccessibilityNodeInfoCompat node) {
+    return nodeTreeMap.containsKey(node);
+  }
+
   public @Nullable AccessibilityNodeInfoCompat findNext(AccessibilityNodeInfoCompat node) {
     WorkingTree tree = nodeTreeMap.get(node);
     if (tree == null) {
@@ -88,6 +88,11 @@ public class OrderedTraversalStrategy implements TraversalStrategy {
     return controller.findInitial(root);
   }
 
+  /** Returns whether {@code node} is part of the traversal order of this strategy. */
+  public boolean contains(AccessibilityNodeInfoCompat node) {
+    return controller.contains(node);
+  }
+
   /** Dumps the traversal order tree. */
   public void dumpTree(@NonNull Logger treeDebugLogger) {
     controller.dumpTree(treeDebugLogger);
@@ -0,0 +1,368 @@
+package com.google.android.libraries.accessibility.utils.concurrent;
+
+import android.os.HandlerThread;
+import android.os.Process;
+import android.os.SystemClock;
+import androidx.annotation.GuardedBy;
+import androidx.annotation.IntDef;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.accessibility.utils.Logger;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Central scheduler for work that must not run on the main thread.
+ *
+ * <p>Work is submitted to one of three lanes, each backed by its own bounded thread pool, so that
+ * slow work of a lower lane never delays work of a higher lane:
+ *
+ * <ul>
+ *   <li>{@link #LANE_INTERACTIVE}: work the user is waiting for right now, such as earcons and
+ *       braille display I/O.
+ *   <li>{@link #LANE_USER_VISIBLE}: work whose result is shown to the user soon, such as custom
+ *       label queries.
+ *   <li>{@link #LANE_BACKGROUND}: work nobody is waiting for. This lane can be paused while the
+ *       user interacts, and queued work can be replaced by newer work with the same key.
+ * </ul>
+ *
+ * <p>Long-running loops, such as blocking reads, must not occupy lane threads; use {@link
+ * #newThread} or {@link #newHandlerThread} for them instead.
+ */
+public final class TaskScheduler {
+
+  /** The lanes of the scheduler, in decreasing priority. */
+  @IntDef({LANE_INTERACTIVE, LANE_USER_VISIBLE, LANE_BACKGROUND})
+  @Retention(RetentionPolicy.SOURCE)
+  public @interface Lane {}
+
+  public static final int LANE_INTERACTIVE = 0;
+  public static final int LANE_USER_VISIBLE = 1;
+  public static final int LANE_BACKGROUND = 2;
+
+  private static final String[] LANE_NAMES = {"interactive", "user-visible", "background"};
+  private static final int[] LANE_THREAD_COUNTS = {2, 2, 1};
+  private static final int[] LANE_THREAD_PRIORITIES = {
+    Process.THREAD_PRIORITY_DISPLAY,
+    Process.THREAD_PRIORITY_DEFAULT,
+    Process.THREAD_PRIORITY_BACKGROUND
+  };
+
+  /** Idle lane threads are released after this time. */
+  private static final long KEEP_ALIVE_SECONDS = 30;
+
+  private static final TaskScheduler INSTANCE = new TaskScheduler();
+
+  private final LaneExecutor[] lanes = new LaneExecutor[LANE_NAMES.length];
+
+  /** Executor of the background lane, which holds back work while paused. */
+  private final PausableExecutorService backgroundExecutor;
+
+  /** Queued background tasks that may be preempted, by key. */
+  @GuardedBy("this")
+  private final Map<String, TimedTask> preemptibleTasks = new HashMap<>();
+
+  @GuardedBy("this")
+  private boolean backgroundPaused = false;
+
+  /** Dedicated threads created by the scheduler, for the dump. */
+  @GuardedBy("this")
+  private final List<WeakReference<Thread>> dedicatedThreads = new ArrayList<>();
+
+  public static TaskScheduler getInstance() {
+    return INSTANCE;
+  }
+
+  @VisibleForTesting
+  TaskScheduler() {
+    for (int lane = 0; lane < lanes.length; lane++) {
+      lanes[lane] = new LaneExecutor(lane);
+    }
+    backgroundExecutor = (PausableExecutorService) lanes[LANE_BACKGROUND].executor;
+  }
+
+  /** Runs {@code runnable} on a thread of {@code lane}. */
+  public void execute(@Lane int lane, Runnable runnable) {
+    lanes[lane].executeTask(new TimedTask(lanes[lane], runnable, /* key= */ null));
+  }
+
+  /**
+   * Runs {@code runnable} on the background lane, replacing any task with the same {@code key}
+   * that has not started yet. Use this for work whose result is superseded by newer work, such as
+   * refreshing a cache.
+   */
+  public void executeLatest(String key, Runnable runnable) {
+    TimedTask task = new TimedTask(lanes[LANE_BACKGROUND], runnable, key);
+    synchronized (this) {
+      @Nullable TimedTask previous = preemptibleTasks.put(key, task);
+      if (previous != null && previous.cancel()) {
+        lanes[LANE_BACKGROUND].preemptedCount.incrementAndGet();
+      }
+    }
+    lanes[LANE_BACKGROUND].executeTask(task);
+  }
+
+  /**
+   * Cancels the task submitted by {@link #executeLatest} with {@code key}, if it has not started
+   * yet.
+   */
+  public synchronized void cancelLatest(String key) {
+    @Nullable TimedTask task = preemptibleTasks.remove(key);
+    if (task != null) {
+      task.cancel();
+    }
+  }
+
+  /** Returns an executor that runs tasks on {@code lane}. */
+  public Executor getExecutor(@Lane int lane) {
+    return runnable -> execute(lane, runnable);
+  }
+
+  /**
+   * Returns a new executor that runs its tasks on {@code lane} one at a time, in submission order.
+   */
+  public Executor newSerialExecutor(@Lane int lane) {
+    return MoreExecutors.newSequentialExecutor(getExecutor(lane));
+  }
+
+  /**
+   * Holds back work submitted to the background lane until {@link #resumeBackground()}. Work that
+   * already started is not affected.
+   */
+  public synchronized void pauseBackground() {
+    backgroundPaused = true;
+    backgroundExecutor.pause();
+  }
+
+  /** Releases the work held back by {@link #pauseBackground()}. */
+  public synchronized void resumeBackground() {
+    if (!backgroundPaused) {
+      return;
+    }
+    backgroundPaused = false;
+    backgroundExecutor.resume();
+  }
+
+  public synchronized boolean isBackgroundPaused() {
+    return backgroundPaused;
+  }
+
+  /**
+   * Creates, but does not start, a dedicated thread with the priority of {@code lane}, for a loop
+   * that runs for a long time, such as a blocking read.
+   */
+  public Thread newThread(String name, @Lane int lane, Runnable runnable) {
+    int priority = LANE_THREAD_PRIORITIES[lane];
+    Thread thread =
+        new Thread(
+            () -> {
+              Process.setThreadPriority(priority);
+              runnable.run();
+            },
+            name);
+    trackDedicatedThread(thread);
+    return thread;
+  }
+
+  /** Creates, but does not start, a dedicated looper thread with the priority of {@code lane}. */
+  public HandlerThread newHandlerThread(String name, @Lane int lane) {
+    HandlerThread thread = new HandlerThread(name, LANE_THREAD_PRIORITIES[lane]);
+    trackDedicatedThread(thread);
+    return thread;
+  }
+
+  public void dump(Logger dumpLogger) {
+    dumpLogger.log("Task scheduler");
+    for (LaneExecutor lane : lanes) {
+      lane.dump(dumpLogger);
+    }
+    synchronized (this) {
+      dumpLogger.log(
+          " backgroundPaused=%s, preemptible=%d", backgroundPaused, preemptibleTasks.size());
+      Iterator<WeakReference<Thread>> iterator = dedicatedThreads.iterator();
+      while (iterator.hasNext()) {
+        Thread thread = iterator.next().get();
+        if (thread == null) {
+          iterator.remove();
+        } else {
+          dumpLogger.log(" dedicated thread %s, alive=%s", thread.getName(), thread.isAlive());
+        }
+      }
+    }
+    dumpLogger.log("");
+  }
+
+  private synchronized void trackDedicatedThread(Thread thread) {
+    Iterator<WeakReference<Thread>> iterator = dedicatedThreads.iterator();
+    while (iterator.hasNext()) {
+      Thread tracked = iterator.next().get();
+      if (tracked == null || tracked.getState() == Thread.State.TERMINATED) {
+        iterator.remove();
+      }
+    }
+    dedicatedThreads.add(new WeakReference<>(thread));
+  }
+
+  private synchronized void onTaskFinished(TimedTask task) {
+    if (task.key != null && preemptibleTasks.get(task.key) == task) {
+      preemptibleTasks.remove(task.key);
+    }
+  }
+
+  /** The thread pool of one lane, with its statistics. */
+  private final class LaneExecutor {
+    private final String name;
+    private final ThreadPoolExecutor pool;
+
+    /** Runs the tasks of the lane; for the background lane this can be paused. */
+    private final Executor executor;
+
+    // Statistics for the dump.
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong preemptedCount = new AtomicLong();
+    private final AtomicLong totalWaitMs = new AtomicLong();
+    private final AtomicLong maxWaitMs = new AtomicLong();
+    private final AtomicLong totalRunMs = new AtomicLong();
+    private final AtomicLong maxRunMs = new AtomicLong();
+
+    LaneExecutor(@Lane int lane) {
+      name = LANE_NAMES[lane];
+      int threadCount = LANE_THREAD_COUNTS[lane];
+      pool =
+          new ThreadPoolExecutor(
+              threadCount,
+              threadCount,
+              KEEP_ALIVE_SECONDS,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              new LaneThreadFactory(name, LANE_THREAD_PRIORITIES[lane]));
+      pool.allowCoreThreadTimeOut(true);
+      executor =
+          (lane == LANE_BACKGROUND)
+              ? new PausableExecutorService(MoreExecutors.listeningDecorator(pool))
+              : pool;
+    }
+
+    void executeTask(TimedTask task) {
+      queueDepth.incrementAndGet();
+      executor.execute(task);
+    }
+
+    void onTaskStarted(long waitMs) {
+      queueDepth.decrementAndGet();
+      totalWaitMs.addAndGet(waitMs);
+      maxWaitMs.accumulateAndGet(waitMs, Math::max);
+    }
+
+    void onTaskCompleted(long runMs) {
+      completedCount.incrementAndGet();
+      totalRunMs.addAndGet(runMs);
+      maxRunMs.accumulateAndGet(runMs, Math::max);
+    }
+
+    void dump(Logger dumpLogger) {
+      long completed = completedCount.get();
+      dumpLogger.log(
+          " lane %s: threads=%d/%d, queueDepth=%d, completed=%d, preempted=%d",
+          name,
+          pool.getActiveCount(),
+          pool.getPoolSize(),
+          queueDepth.get(),
+          completed,
+          preemptedCount.get());
+      dumpLogger.log(
+          "   wait avg=%dms max=%dms, run avg=%dms max=%dms",
+          (completed == 0) ? 0 : totalWaitMs.get() / completed,
+          maxWaitMs.get(),
+          (completed == 0) ? 0 : totalRunMs.get() / completed,
+          maxRunMs.get());
+    }
+  }
+
+  /** A task that records how long it waited in its queue and how long it ran. */
+  private final class TimedTask implements Runnable {
+    private final LaneExecutor lane;
+    private final Runnable runnable;
+    @Nullable private final String key;
+
+    /** Submission time, so that time held back by a pause counts as waiting. */
+    private final long enqueueTimeMs = SystemClock.uptimeMillis();
+
+    @GuardedBy("this")
+    private boolean started = false;
+
+    @GuardedBy("this")
+    private boolean cancelled = false;
+
+    TimedTask(LaneExecutor lane, Runnable runnable, @Nullable String key) {
+      this.lane = lane;
+      this.runnable = runnable;
+      this.key = key;
+    }
+
+    /** Cancels the task if it has not started yet. Returns whether it was cancelled. */
+    synchronized boolean cancel() {
+      if (started) {
+        return false;
+      }
+      cancelled = true;
+      return true;
+    }
+
+    @Override
+    public void run() {
+      synchronized (this) {
+        if (cancelled) {
+          lane.queueDepth.decrementAndGet();
+          return;
+        }
+        started = true;
+      }
+      long startTimeMs = SystemClock.uptimeMillis();
+      lane.onTaskStarted(startTimeMs - enqueueTimeMs);
+      try {
+        runnable.run();
+      } finally {
+        lane.onTaskCompleted(SystemClock.uptimeMillis() - startTimeMs);
+        onTaskFinished(this);
+      }
+    }
+  }
+
+  /** Creates named lane threads with the priority of the lane. */
+  private static final class LaneThreadFactory implements ThreadFactory {
+    private final String name;
+    private final int priority;
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    LaneThreadFactory(String name, int priority) {
+      this.name = name;
+      this.priority = priority;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      return new Thread(
+          () -> {
+            Process.setThreadPriority(priority);
+            runnable.run();
+          },
+          "a11y-" + name + "-" + threadCount.incrementAndGet());
+    }
+  }
+}
@@ -19,9 +19,18 @@ package com.google.android.libraries.accessibility.utils.log;
 import android.util.Log;
 import com.google.common.base.Strings;
 import java.util.IllegalFormatException;
+import java.util.function.Supplier;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
-/** Handles logging formatted strings. */
+/**
+ * Handles logging formatted strings.
+ *
+ * <p>Logging at a disabled level should cost nothing on hot paths. The VERBOSE and DEBUG methods
+ * have fixed-arity overloads for up to three arguments, which check the log level before
+ * allocating the varargs array. Messages that are expensive to build should either be passed as a
+ * {@link Supplier}, or be built inside an {@link #shouldLog(int)} check, which also avoids
+ * allocating a capturing lambda.
+ */
 public class LogUtils {
 
   private LogUtils() {} // Not instantiable.
@@ -78,6 +87,65 @@ public class LogUtils {
     log(tag, priority, formatWithIndex, args);
   }
 
+  /**
+   * Logs a string to the console at the VERBOSE log level.
+   *
+   * @param tag The tag that should be associated with the event
+   * @param format A format string, see {@link String#format(String, Object...)}
+   */
+  public static void v(String tag, @Nullable String format) {
+    if (shouldLog(Log.VERBOSE)) {
+      log(tag, Log.VERBOSE, format);
+    }
+  }
+
+  /**
+   * Logs a string to the console at the VERBOSE log level. The arguments are only put in an array
+   * if the level is enabled.
+   *
+   * @param tag The tag that should be associated with the event
+   * @param format A format string, see {@link String#format(String, Object...)}
+   * @param arg1 String formatter argument
+   */
+  public static void v(String tag, @Nullable String format, @Nullable Object arg1) {
+    if (shouldLog(Log.VERBOSE)) {
+      log(tag, Log.VERBOSE, format, arg1);
+    }
+  }
+
+  /** See {@link #v(String, String, Object)}. */
+  public static void v(
+      String tag, @Nullable String format, @Nullable Object arg1, @Nullable Object arg2) {
+    if (shouldLog(Log.VERBOSE)) {
+      log(tag, Log.VERBOSE, format, arg1, arg2);
+    }
+  }
+
+  /** See {@link #v(String, String, Object)}. */
+  public static void v(
+      String tag,
+      @Nullable String format,
+      @Nullable Object arg1,
+      @Nullable Object arg2,
+      @Nullable Object arg3) {
+    if (shouldLog(Log.VERBOSE)) {
+      log(tag, Log.VERBOSE, format, arg1, arg2, arg3);
+    }
+  }
+
+  /**
+   * Logs a string to the console at the VERBOSE log level. The message is only built if the level
+   * is enabled.
+   *
+   * @param tag The tag that should be associated with the event
+   * @param message Supplies the message, which is logged as is rather than used as a format
+   */
+  public static void v(String tag, Supplier<String> message) {
+    if (shouldLog(Log.VERBOSE)) {
+      log(tag, Log.VERBOSE, "%s", message.get());
+    }
+  }
+
   /**
    * Logs a string to the console at the VERBOSE log level.
    *
@@ -101,6 +169,65 @@ public class LogUtils {
     log(tag, Log.VERBOSE, throwable, format, args);
   }
 
+  /**
+   * Logs a string to the console at the DEBUG log level.
+   *
+   * @param tag The tag that should be associated with the event
+   * @param format A format string, see {@link String#format(String, Object...)}
+   */
+  public static void d(String tag, String format) {
+    if (shouldLog(Log.DEBUG)) {
+      log(tag, Log.DEBUG, format);
+    }
+  }
+
+  /**
+   * Logs a string to the console at the DEBUG log level. The arguments are only put in an array
+   * if the level is enabled.
+   *
+   * @param tag The tag that should be associated with the event
+   * @param format A format string, see {@link String#format(String, Object...)}
+   * @param arg1 String formatter argument
+   */
+  public static void d(String tag, String format, @Nullable Object arg1) {
+    if (shouldLog(Log.DEBUG)) {
+      log(tag, Log.DEBUG, format, arg1);
+    }
+  }
+
+  /** See {@link #d(String, String, Object)}. */
+  public static void d(
+      String tag, String format, @Nullable Object arg1, @Nullable Object arg2) {
+    if (shouldLog(Log.DEBUG)) {
+      log(tag, Log.DEBUG, format, arg1, arg2);
+    }
+  }
+
+  /** See {@link #d(String, String, Object)}. */
+  public static void d(
+      String tag,
+      String format,
+      @Nullable Object arg1,
+      @Nullable Object arg2,
+      @Nullable Object arg3) {
+    if (shouldLog(Log.DEBUG)) {
+      log(tag, Log.DEBUG, format, arg1, arg2, arg3);
+    }
+  }
+
+  /**
+   * Logs a string to the console at the DEBUG log level. The message is only built if the level
+   * is enabled.
+   *
+   * @param tag The tag that should be associated with the event
+   * @param message Supplies the message, which is logged as is rather than used as a format
+   */
+  public static void d(String tag, Supplier<String> message) {
+    if (shouldLog(Log.DEBUG)) {
+      log(tag, Log.DEBUG, "%s", message.get());
+    }
+  }
+
   /**
    * Logs a string to the console at the DEBUG log level.
    *